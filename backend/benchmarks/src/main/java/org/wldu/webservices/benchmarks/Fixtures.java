@@ -0,0 +1,108 @@
+package org.wldu.webservices.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.wldu.webservices.enities.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic sample data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    // Configured the way Spring Boot configures the app's ObjectMapper
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Chemical chemical(long id) {
+        Chemical chemical = new Chemical();
+        chemical.setId(id);
+        chemical.setName("Chemical " + id);
+        chemical.setChemicalFormula("C" + (id % 12 + 1) + "H" + (id % 22 + 2) + "O" + (id % 6 + 1));
+        chemical.setQuantity(id % 50 + 0.5);
+        chemical.setUnit(id % 2 == 0 ? Unit.ML : Unit.L);
+        chemical.setExpiryDate(LocalDate.of(2027, 1, 1).plusDays(id % 365));
+        chemical.setStorageLocation("Cabinet " + (id % 20));
+        return chemical;
+    }
+
+    static Equipment equipment(long id) {
+        Equipment equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setName("Equipment " + id);
+        equipment.setCategory("Optics");
+        equipment.setSerialNumber("SN-" + (100000 + id));
+        equipment.setStatus(EquipmentStatus.ACTIVE);
+        equipment.setPurchaseDate(LocalDate.of(2023, 6, 1));
+        equipment.setQuantity((int) (id % 5 + 1));
+        equipment.setDescription("Bench equipment " + id);
+        return equipment;
+    }
+
+    static Supplier supplier(long id) {
+        Supplier supplier = new Supplier();
+        supplier.setId(id);
+        supplier.setName("Supplier " + id);
+        supplier.setEmail("supplier" + id + "@example.com");
+        supplier.setPhoneNumber("+251-900-" + (1000 + id));
+        supplier.setContactPerson("Contact " + id);
+        supplier.setAddress("Woldia, Ethiopia");
+        return supplier;
+    }
+
+    static List<Chemical> chemicals(int size) {
+        List<Chemical> list = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            list.add(chemical(i));
+        }
+        return list;
+    }
+
+    static List<InventoryTransaction> transactions(int size) {
+        List<InventoryTransaction> list = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            InventoryTransaction tx = new InventoryTransaction();
+            tx.setEquipment(equipment(i % 10 + 1));
+            tx.setChemical(chemical(i % 50 + 1));
+            tx.setSupplier(supplier(i % 5 + 1));
+            tx.setQuantity(i % 7 + 1);
+            tx.setTransactionType(TransactionType.values()[i % 3]);
+            tx.setTransactionDate(LocalDate.of(2026, 1, 1).plusDays(i % 300));
+            tx.setNotes("Batch " + i);
+            list.add(tx);
+        }
+        return list;
+    }
+
+    static List<ItemsEntity> items(int size) {
+        List<ItemsEntity> list = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            ItemsEntity item = new ItemsEntity();
+            item.setId(new UUID(0L, i));
+            item.setName("Item " + i);
+            item.setDescription("Consumable item " + i);
+            item.setSalesCode("SC-" + i);
+            item.setPrice(BigDecimal.valueOf(1000 + i, 2));
+            item.setPurchasePrice(BigDecimal.valueOf(800 + i, 2));
+            item.setQuantityInStock(i % 100);
+            item.setRemainingQuantity(i % 100);
+            item.setReorder_level(10);
+            item.setInvoiceNumber("INV-" + i);
+            item.setManufactureDate(LocalDate.of(2025, 1, 1));
+            item.setExpiryDate(LocalDate.of(2027, 1, 1));
+            item.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 0));
+            list.add(item);
+        }
+        return list;
+    }
+}
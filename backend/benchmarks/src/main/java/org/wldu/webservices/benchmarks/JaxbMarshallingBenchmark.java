@@ -0,0 +1,80 @@
+package org.wldu.webservices.benchmarks;
+
+import com.wldu.xsdgenerated.AddressType;
+import com.wldu.xsdgenerated.ListPersonsResponse;
+import com.wldu.xsdgenerated.Person;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import org.openjdk.jmh.annotations.*;
+import xsdgenerated.CourseType;
+import xsdgenerated.GetAllCoursesResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the two list responses of the SOAP endpoints. A Marshaller is created
+ * per call, as Jaxb2Marshaller does, while the JAXBContext is built once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JaxbMarshallingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private JAXBContext courseContext;
+    private JAXBContext personContext;
+    private GetAllCoursesResponse courses;
+    private ListPersonsResponse persons;
+
+    @Setup
+    public void setUp() throws Exception {
+        courseContext = JAXBContext.newInstance(GetAllCoursesResponse.class);
+        personContext = JAXBContext.newInstance(ListPersonsResponse.class);
+
+        courses = new GetAllCoursesResponse();
+        persons = new ListPersonsResponse();
+        for (int i = 1; i <= size; i++) {
+            CourseType course = new CourseType();
+            course.setCourseCode("CS" + (1000 + i));
+            course.setTitle("Course " + i);
+            course.setEcts(i % 7 + 1);
+            courses.getCourse().add(course);
+
+            AddressType address = new AddressType();
+            address.setStreet("Street " + i);
+            address.setCity("Woldia");
+            address.setZipCode(String.valueOf(7000 + i));
+            Person person = new Person();
+            person.setFirstName("First" + i);
+            person.setLastName("Last" + i);
+            person.setAge(BigInteger.valueOf(18 + i % 40));
+            person.setSex(i % 2 == 0 ? "F" : "M");
+            person.setAddress(address);
+            persons.getPersons().add(person);
+        }
+    }
+
+    @Benchmark
+    public byte[] getAllCoursesResponse() throws Exception {
+        return marshal(courseContext, courses);
+    }
+
+    @Benchmark
+    public byte[] listPersonsResponse() throws Exception {
+        return marshal(personContext, persons);
+    }
+
+    private static byte[] marshal(JAXBContext context, Object payload) throws Exception {
+        Marshaller marshaller = context.createMarshaller();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        marshaller.marshal(payload, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package org.wldu.webservices.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.TransactionDTO;
+import org.openjdk.jmh.annotations.*;
+import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.enities.InventoryTransaction;
+import org.wldu.webservices.enities.ItemsEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the list responses the REST controllers return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<InventoryTransaction> transactions;
+    private List<TransactionDTO> transactionViews;
+    private List<ItemsEntity> items;
+    private List<Chemical> chemicals;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        transactions = Fixtures.transactions(size);
+        transactionViews = transactions.stream().map(TransactionDTO::from).toList();
+        items = Fixtures.items(size);
+        chemicals = Fixtures.chemicals(size);
+    }
+
+    @Benchmark
+    public byte[] transactions() throws Exception {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    // Flat projection served by the filtered transaction endpoints
+    @Benchmark
+    public byte[] transactionViews() throws Exception {
+        return objectMapper.writeValueAsBytes(transactionViews);
+    }
+
+    @Benchmark
+    public byte[] items() throws Exception {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] chemicals() throws Exception {
+        return objectMapper.writeValueAsBytes(chemicals);
+    }
+}
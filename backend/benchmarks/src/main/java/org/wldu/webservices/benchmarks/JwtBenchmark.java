@@ -0,0 +1,37 @@
+package org.wldu.webservices.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.wldu.webservices.auths.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on login (generate) and on every authenticated request (extract).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("lab.admin");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("lab.admin");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
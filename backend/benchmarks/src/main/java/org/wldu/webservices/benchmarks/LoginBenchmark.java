@@ -0,0 +1,55 @@
+package org.wldu.webservices.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.wldu.webservices.auths.AdaptiveBCryptPasswordEncoder;
+import org.wldu.webservices.auths.JwtUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second on one core for each BCrypt cost: password check through
+ * DaoAuthenticationProvider plus token generation, with the user lookup stubbed.
+ * Single-threaded on purpose; multiply by the login executor's thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private DaoAuthenticationProvider provider;
+    private JwtUtil jwtUtil;
+    private UsernamePasswordAuthenticationToken attempt;
+
+    @Setup
+    public void setUp() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(strength);
+        UserDetails student = User.withUsername("student")
+                .password(encoder.encode("lab-session-42"))
+                .roles("USER")
+                .build();
+
+        provider = new DaoAuthenticationProvider(username -> student);
+        provider.setPasswordEncoder(encoder);
+        jwtUtil = new JwtUtil();
+        attempt = new UsernamePasswordAuthenticationToken("student", "lab-session-42");
+    }
+
+    @Benchmark
+    public String login() {
+        Authentication authentication = provider.authenticate(attempt);
+        return jwtUtil.generateToken(authentication.getName(), List.of("ROLE_USER"), 0);
+    }
+}
@@ -0,0 +1,62 @@
+package org.wldu.webservices.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wldu.webservices.auths.PublicPathMatcher;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public-path check for a burst of 10k requests: the old stream/startsWith scan
+ * against the precompiled trie. Run with -prof gc to see per-request allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublicPathBenchmark {
+
+    private static final int BURST = 10_000;
+
+    // Mix seen by the filter: public reads, protected item/SOAP calls and near misses
+    private static final String[] SAMPLE_PATHS = {
+            "/api/transactions", "/api/transactions/chemical/12", "/api/chemicals/expired",
+            "/api/equipment/3", "/api/suppliers", "/api/dashboard/stats", "/auth/login",
+            "/api/item/list", "/api/item/0f8c2d7e-1b2a-4c3d-9e8f-7a6b5c4d3e2f", "/ws", "/ws/course",
+            "/user/jwtcheck/revoke-tokens", "/api/chemicalsx", "/authors"
+    };
+
+    private final PublicPathMatcher matcher = new PublicPathMatcher();
+    private final List<String> publicPaths = PublicPathMatcher.PUBLIC_PATHS;
+    private String[] burst;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        burst = new String[BURST];
+        for (int i = 0; i < BURST; i++) {
+            burst[i] = SAMPLE_PATHS[random.nextInt(SAMPLE_PATHS.length)];
+        }
+    }
+
+    // What JwtAuthFilter.shouldNotFilter did before
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void streamStartsWith(Blackhole bh) {
+        for (String path : burst) {
+            bh.consume(publicPaths.stream().anyMatch(path::startsWith));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void prefixTrie(Blackhole bh) {
+        for (String path : burst) {
+            bh.consume(matcher.matches(path));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.wldu.webservices.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.wldu.webservices.enities.InventoryTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-side cost of POST /api/transactions: JSON body to Map, then Map to entity.
+ * Lives in the controller package to reach the package-private fromPayload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionPayloadBenchmark {
+
+    private static final byte[] BODY = ("{\"equipmentId\":3,\"chemicalId\":12,\"supplierId\":2,"
+            + "\"quantity\":\"4.5\",\"transactionType\":\"OUT\",\"transactionDate\":\"2026-03-14\","
+            + "\"notes\":\"Titration practical, group B\"}").getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader payloadReader;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        payloadReader = objectMapper.readerFor(Map.class);
+        payload = payloadReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public Map<String, Object> readBody() throws Exception {
+        return payloadReader.readValue(BODY);
+    }
+
+    @Benchmark
+    public InventoryTransaction fromPayload() {
+        return InventoryTransactionController.fromPayload(payload);
+    }
+
+    @Benchmark
+    public InventoryTransaction readBodyAndConvert() throws Exception {
+        Map<String, Object> body = payloadReader.readValue(BODY);
+        return InventoryTransactionController.fromPayload(body);
+    }
+}
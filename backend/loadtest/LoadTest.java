@@ -0,0 +1,126 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: N concurrent clients hammer each path for a
+ * fixed time and the run prints throughput and latency percentiles per path.
+ *
+ * Run with the JDK source launcher (no build needed):
+ *   java loadtest/LoadTest.java [baseUrl] [clients] [seconds] [path...]
+ *
+ * A path of the form "/ws@loadtest/soap/add.xml" POSTs that file as a SOAP
+ * request instead of a GET. LOADTEST_TOKEN, when set, is sent as a bearer token.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        List<String> paths = args.length > 3
+                ? Arrays.asList(args).subList(3, args.length)
+                : List.of("/api/transactions", "/api/chemicals");
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String token = System.getenv("LOADTEST_TOKEN");
+
+        System.out.printf("%-34s %8s %10s %9s %9s %9s %8s%n",
+                "path", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (String path : paths) {
+            // Short warm-up so JIT and pool start-up do not skew the first path
+            HttpRequest request = request(baseUrl, path, token);
+            run(client, request, clients, 3);
+            Result r = run(client, request, clients, seconds);
+            System.out.printf("%-34s %8d %10.1f %9.1f %9.1f %9.1f %8d%n",
+                    path, r.count(), r.count() / (double) seconds,
+                    r.percentile(0.50), r.percentile(0.99), r.percentile(1.0), r.errors());
+        }
+    }
+
+    private static HttpRequest request(String baseUrl, String path, String token) throws Exception {
+        int at = path.indexOf('@');
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + (at < 0 ? path : path.substring(0, at))))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (at < 0) {
+            return builder.GET().build();
+        }
+        byte[] body = Files.readAllBytes(Path.of(path.substring(at + 1)));
+        return builder.header("Content-Type", "text/xml; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<long[]> perClient = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long[] samples = new long[1 << 16];
+                perClient.add(samples);
+                workers.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n < samples.length - 1) {
+                            samples[++n] = System.nanoTime() - start;
+                        }
+                    }
+                    samples[0] = n;
+                });
+            }
+        }
+
+        int total = 0;
+        for (long[] s : perClient) total += (int) s[0];
+        long[] all = new long[total];
+        int k = 0;
+        for (long[] s : perClient) {
+            System.arraycopy(s, 1, all, k, (int) s[0]);
+            k += (int) s[0];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] sorted, long errors) {
+        long count() {
+            return sorted.length;
+        }
+
+        double percentile(double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
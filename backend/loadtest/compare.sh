@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Runs LoadTest against the app twice: platform-thread Tomcat, then virtual threads.
+# Needs the database up; run from backend/.  Usage: loadtest/compare.sh [clients] [seconds]
+set -euo pipefail
+
+CLIENTS=${1:-200}
+SECONDS_PER_PATH=${2:-20}
+BASE=http://localhost:8081
+
+mvn -B -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v -e original -e classes | head -1)
+
+for VIRTUAL in false true; do
+  java -jar "$JAR" --spring.threads.virtual.enabled=$VIRTUAL \
+       --spring.jpa.show-sql=false > "target/loadtest-app-$VIRTUAL.log" 2>&1 &
+  APP=$!
+  until curl -s -o /dev/null "$BASE/api/chemicals"; do sleep 1; done
+
+  echo "== spring.threads.virtual.enabled=$VIRTUAL =="
+  java loadtest/LoadTest.java "$BASE" "$CLIENTS" "$SECONDS_PER_PATH" /api/transactions /api/chemicals
+
+  kill $APP; wait $APP 2>/dev/null || true
+done
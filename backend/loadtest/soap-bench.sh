@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Requests per second against /ws for AddRequest and GetCourseRequest, with the JAXB
+# marshaller pool off (a marshaller per call) and on. Also prints the latency of the
+# first SOAP call after startup. Needs the database up; run from backend/.
+# Usage: loadtest/soap-bench.sh [clients] [seconds]
+set -euo pipefail
+
+CLIENTS=${1:-50}
+SECONDS_PER_PATH=${2:-20}
+BASE=http://localhost:8081
+
+mvn -B -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v -e original -e classes | head -1)
+
+for POOL in 0 32; do
+  java -jar "$JAR" --soap.jaxb.pool-size=$POOL \
+       --spring.jpa.show-sql=false > "target/soap-bench-app-$POOL.log" 2>&1 &
+  APP=$!
+  until curl -s -o /dev/null "$BASE/api/chemicals"; do kill -0 $APP; sleep 1; done
+
+  curl -s -o /dev/null -X POST "$BASE/user/register" -H 'Content-Type: application/json' \
+       -d '{"username":"soapbench","password":"soapbench123","role":"USER"}' || true
+  export LOADTEST_TOKEN=$(curl -s -X POST "$BASE/auth/login" -H 'Content-Type: application/json' \
+       -d '{"username":"soapbench","password":"soapbench123"}' | sed -E 's/.*"token":"([^"]+)".*/\1/')
+
+  echo "== soap.jaxb.pool-size=$POOL =="
+  curl -s -o /dev/null -w "first SOAP call: %{time_total}s\n" -X POST "$BASE/ws" \
+       -H 'Content-Type: text/xml' -H "Authorization: Bearer $LOADTEST_TOKEN" --data @loadtest/soap/add.xml
+  curl -s -o /dev/null -X POST "$BASE/ws/course" -H 'Content-Type: text/xml' \
+       -H "Authorization: Bearer $LOADTEST_TOKEN" --data @loadtest/soap/create-course.xml
+
+  java loadtest/LoadTest.java "$BASE" "$CLIENTS" "$SECONDS_PER_PATH" \
+       /ws@loadtest/soap/add.xml /ws/course@loadtest/soap/get-course.xml
+
+  kill $APP; wait $APP 2>/dev/null || true
+done
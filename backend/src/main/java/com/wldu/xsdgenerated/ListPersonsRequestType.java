@@ -0,0 +1,90 @@
+
+package com.wldu.xsdgenerated;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+
+/**
+ * <p>Java class for ListPersonsRequestType complex type.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="ListPersonsRequestType"&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="after" type="{http://example.com/person}PersonKeyType" minOccurs="0"/&gt;
+ *         &lt;element name="pageSize" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/restriction&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "ListPersonsRequestType", namespace = "http://example.com/person", propOrder = {
+    "after",
+    "pageSize"
+})
+public class ListPersonsRequestType {
+
+    @XmlElement(namespace = "http://example.com/person")
+    protected PersonKeyType after;
+    @XmlElement(namespace = "http://example.com/person")
+    protected Integer pageSize;
+
+    /**
+     * Gets the value of the after property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link PersonKeyType }
+     *     
+     */
+    public PersonKeyType getAfter() {
+        return after;
+    }
+
+    /**
+     * Sets the value of the after property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link PersonKeyType }
+     *     
+     */
+    public void setAfter(PersonKeyType value) {
+        this.after = value;
+    }
+
+    /**
+     * Gets the value of the pageSize property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *     
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the value of the pageSize property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *     
+     */
+    public void setPageSize(Integer value) {
+        this.pageSize = value;
+    }
+
+}
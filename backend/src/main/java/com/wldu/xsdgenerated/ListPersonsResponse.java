@@ -21,6 +21,7 @@ import jakarta.xml.bind.annotation.XmlType;
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
  *       &lt;sequence&gt;
  *         &lt;element name="persons" type="{http://example.com/person}Person" maxOccurs="unbounded" minOccurs="0"/&gt;
+ *         &lt;element name="nextCursor" type="{http://example.com/person}PersonKeyType" minOccurs="0"/&gt;
  *       &lt;/sequence&gt;
  *     &lt;/restriction&gt;
  *   &lt;/complexContent&gt;
@@ -31,13 +32,16 @@ import jakarta.xml.bind.annotation.XmlType;
  */
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlType(name = "", propOrder = {
-    "persons"
+    "persons",
+    "nextCursor"
 })
 @XmlRootElement(name = "listPersonsResponse", namespace = "http://example.com/person")
 public class ListPersonsResponse {
 
     @XmlElement(namespace = "http://example.com/person")
     protected List<Person> persons;
+    @XmlElement(namespace = "http://example.com/person")
+    protected PersonKeyType nextCursor;
 
     /**
      * Gets the value of the persons property.
@@ -68,4 +72,28 @@ public class ListPersonsResponse {
         return this.persons;
     }
 
+    /**
+     * Gets the value of the nextCursor property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link PersonKeyType }
+     *     
+     */
+    public PersonKeyType getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the value of the nextCursor property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link PersonKeyType }
+     *     
+     */
+    public void setNextCursor(PersonKeyType value) {
+        this.nextCursor = value;
+    }
+
 }
@@ -122,6 +122,22 @@ public class ObjectFactory {
         return new AddressType();
     }
 
+    /**
+     * Create an instance of {@link PersonKeyType }
+     * 
+     */
+    public PersonKeyType createPersonKeyType() {
+        return new PersonKeyType();
+    }
+
+    /**
+     * Create an instance of {@link ListPersonsRequestType }
+     * 
+     */
+    public ListPersonsRequestType createListPersonsRequestType() {
+        return new ListPersonsRequestType();
+    }
+
     /**
      * Create an instance of {@link JAXBElement }{@code <}{@link Person }{@code >}
      * 
@@ -136,16 +152,16 @@ public class ObjectFactory {
     }
 
     /**
-     * Create an instance of {@link JAXBElement }{@code <}{@link Object }{@code >}
+     * Create an instance of {@link JAXBElement }{@code <}{@link ListPersonsRequestType }{@code >}
      * 
      * @param value
      *     Java instance representing xml element's value.
      * @return
-     *     the new instance of {@link JAXBElement }{@code <}{@link Object }{@code >}
+     *     the new instance of {@link JAXBElement }{@code <}{@link ListPersonsRequestType }{@code >}
      */
     @XmlElementDecl(namespace = "http://example.com/person", name = "listPersonsRequest")
-    public JAXBElement<Object> createListPersonsRequest(Object value) {
-        return new JAXBElement<Object>(_ListPersonsRequest_QNAME, Object.class, null, value);
+    public JAXBElement<ListPersonsRequestType> createListPersonsRequest(ListPersonsRequestType value) {
+        return new JAXBElement<ListPersonsRequestType>(_ListPersonsRequest_QNAME, ListPersonsRequestType.class, null, value);
     }
 
 }
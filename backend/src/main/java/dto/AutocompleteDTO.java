@@ -0,0 +1,29 @@
+package dto;
+
+/**
+ * One picker suggestion from /api/autocomplete. detail is the chemical formula,
+ * the equipment serial number or the supplier's contact person.
+ */
+public class AutocompleteDTO {
+
+    private Long id;
+    private String name;
+    private String detail;
+
+    public AutocompleteDTO() {}
+
+    public AutocompleteDTO(Long id, String name, String detail) {
+        this.id = id;
+        this.name = name;
+        this.detail = detail;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+}
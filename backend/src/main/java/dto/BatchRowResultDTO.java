@@ -0,0 +1,44 @@
+package dto;
+
+/**
+ * Outcome of one row of a batch upload. {@code index} is the row's position in the request.
+ */
+public class BatchRowResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String status;
+    private Long id;
+    private String error;
+
+    public BatchRowResultDTO() {}
+
+    public BatchRowResultDTO(int index, String status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchRowResultDTO created(int index, Long id) {
+        return new BatchRowResultDTO(index, CREATED, id, null);
+    }
+
+    public static BatchRowResultDTO failed(int index, String error) {
+        return new BatchRowResultDTO(index, FAILED, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
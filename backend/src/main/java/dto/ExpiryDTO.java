@@ -0,0 +1,43 @@
+package dto;
+
+import org.wldu.webservices.services.contracts.ExpiryService;
+
+import java.time.LocalDate;
+
+/**
+ * A chemical or item with its expiry date, as held by the in-memory expiry index.
+ * daysLeft is negative once the expiry date has passed.
+ */
+public class ExpiryDTO {
+
+    private ExpiryService.Kind kind;
+    private String id;
+    private String name;
+    private LocalDate expiryDate;
+    private long daysLeft;
+
+    public ExpiryDTO() {}
+
+    public ExpiryDTO(ExpiryService.Kind kind, String id, String name, LocalDate expiryDate, long daysLeft) {
+        this.kind = kind;
+        this.id = id;
+        this.name = name;
+        this.expiryDate = expiryDate;
+        this.daysLeft = daysLeft;
+    }
+
+    public ExpiryService.Kind getKind() { return kind; }
+    public void setKind(ExpiryService.Kind kind) { this.kind = kind; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDate getExpiryDate() { return expiryDate; }
+    public void setExpiryDate(LocalDate expiryDate) { this.expiryDate = expiryDate; }
+
+    public long getDaysLeft() { return daysLeft; }
+    public void setDaysLeft(long daysLeft) { this.daysLeft = daysLeft; }
+}
@@ -0,0 +1,12 @@
+package dto;
+
+/**
+ * Reference to a related row by id, serialized as {"id": 1}: the same place
+ * the full entity used to be, so clients reading equipment.id keep working.
+ */
+public record IdRef(Long id) {
+
+    public static IdRef of(Long id) {
+        return id == null ? null : new IdRef(id);
+    }
+}
@@ -24,6 +24,7 @@ public class ItemDTO {
     private LocalDateTime createdAt;
     private String status;
     private Integer reorder_level;
+    private Long version;           // Version the client read; a mismatch on update is a conflict
     // Constructors
     public ItemDTO() {}
 
@@ -125,5 +126,12 @@ public class ItemDTO {
     public void setRemainingQuantity(Integer remainingQuantity) {
         this.remainingQuantity = remainingQuantity;
     }
-}
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,40 @@
+package dto;
+
+/**
+ * One typeahead hit from /api/search. type is CHEMICAL, EQUIPMENT, SUPPLIER or ITEM;
+ * detail is the secondary field that was searched (formula, serial number,
+ * contact person or sales code). Higher scores rank first.
+ */
+public class SearchResultDTO {
+
+    private String type;
+    private String id;
+    private String name;
+    private String detail;
+    private double score;
+
+    public SearchResultDTO() {}
+
+    public SearchResultDTO(String type, String id, String name, String detail, double score) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.detail = detail;
+        this.score = score;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
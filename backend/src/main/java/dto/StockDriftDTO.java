@@ -0,0 +1,38 @@
+package dto;
+
+/**
+ * A chemical whose on-hand quantity disagrees with its opening balance plus the
+ * sum of its ledger entries. Both quantities are in ml.
+ */
+public class StockDriftDTO {
+
+    private Long chemicalId;
+    private double quantity;
+    private double ledgerQuantity;
+
+    public StockDriftDTO() {}
+
+    public StockDriftDTO(Long chemicalId, double quantity, double ledgerQuantity) {
+        this.chemicalId = chemicalId;
+        this.quantity = quantity;
+        this.ledgerQuantity = ledgerQuantity;
+    }
+
+    public Long getChemicalId() { return chemicalId; }
+    public void setChemicalId(Long chemicalId) { this.chemicalId = chemicalId; }
+
+    public double getQuantity() { return quantity; }
+    public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    public double getLedgerQuantity() { return ledgerQuantity; }
+    public void setLedgerQuantity(double ledgerQuantity) { this.ledgerQuantity = ledgerQuantity; }
+
+    @Override
+    public String toString() {
+        return "StockDriftDTO{" +
+                "chemicalId=" + chemicalId +
+                ", quantity=" + quantity +
+                ", ledgerQuantity=" + ledgerQuantity +
+                '}';
+    }
+}
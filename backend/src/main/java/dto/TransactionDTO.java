@@ -0,0 +1,99 @@
+package dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.wldu.webservices.enities.InventoryTransaction;
+import org.wldu.webservices.enities.TransactionType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of an inventory transaction: related entities are referenced by id only.
+ * On the wire they keep the entity's property names, as {"equipment": {"id": 1}, ...};
+ * only the id is filled in, names and other columns of the related rows are not.
+ */
+@JsonPropertyOrder({"id", "equipment", "chemical", "supplier", "quantity",
+        "transactionType", "transactionDate", "timestamp", "notes"})
+public class TransactionDTO {
+
+    private Long id;
+    private Long equipmentId;
+    private Long chemicalId;
+    private Long supplierId;
+    private double quantity;
+    private TransactionType transactionType;
+    private LocalDate transactionDate;
+    private LocalDateTime timestamp;
+    private String notes;
+
+    public TransactionDTO() {}
+
+    public TransactionDTO(Long id, Long equipmentId, Long chemicalId, Long supplierId,
+                          double quantity, TransactionType transactionType,
+                          LocalDate transactionDate, LocalDateTime timestamp, String notes) {
+        this.id = id;
+        this.equipmentId = equipmentId;
+        this.chemicalId = chemicalId;
+        this.supplierId = supplierId;
+        this.quantity = quantity;
+        this.transactionType = transactionType;
+        this.transactionDate = transactionDate;
+        this.timestamp = timestamp;
+        this.notes = notes;
+    }
+
+    public static TransactionDTO from(InventoryTransaction tx) {
+        return new TransactionDTO(
+                tx.getId(),
+                tx.getEquipment() != null ? tx.getEquipment().getId() : null,
+                tx.getChemical() != null ? tx.getChemical().getId() : null,
+                tx.getSupplier() != null ? tx.getSupplier().getId() : null,
+                tx.getQuantity(),
+                tx.getTransactionType(),
+                tx.getTransactionDate(),
+                tx.getTimestamp(),
+                tx.getNotes()
+        );
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    @JsonIgnore
+    public Long getEquipmentId() { return equipmentId; }
+    public void setEquipmentId(Long equipmentId) { this.equipmentId = equipmentId; }
+
+    @JsonProperty("equipment")
+    public IdRef getEquipment() { return IdRef.of(equipmentId); }
+
+    @JsonIgnore
+    public Long getChemicalId() { return chemicalId; }
+    public void setChemicalId(Long chemicalId) { this.chemicalId = chemicalId; }
+
+    @JsonProperty("chemical")
+    public IdRef getChemical() { return IdRef.of(chemicalId); }
+
+    @JsonIgnore
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    @JsonProperty("supplier")
+    public IdRef getSupplier() { return IdRef.of(supplierId); }
+
+    public double getQuantity() { return quantity; }
+    public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+
+    public LocalDate getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDate transactionDate) { this.transactionDate = transactionDate; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
@@ -0,0 +1,37 @@
+package dto;
+
+import java.time.LocalDate;
+
+/**
+ * One row of /api/transactions/summary: the net quantity moved in one period for
+ * one chemical, equipment or transaction type (OUT counts negative), and how many
+ * transactions that was.
+ */
+public class TransactionSummaryDTO {
+
+    private LocalDate period;
+    private String key;
+    private double quantity;
+    private long count;
+
+    public TransactionSummaryDTO() {}
+
+    public TransactionSummaryDTO(LocalDate period, String key, double quantity, long count) {
+        this.period = period;
+        this.key = key;
+        this.quantity = quantity;
+        this.count = count;
+    }
+
+    public LocalDate getPeriod() { return period; }
+    public void setPeriod(LocalDate period) { this.period = period; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public double getQuantity() { return quantity; }
+    public void setQuantity(double quantity) { this.quantity = quantity; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,43 @@
+package org.wldu.webservices.auths;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost comes from configuration. Any stored hash with a
+ * different cost, higher or lower, is reported as needing an upgrade, so
+ * DaoAuthenticationProvider rehashes it on the next successful login.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // "$2a$10$..." → 10; 0 when the value is not a BCrypt hash
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        char tens = encodedPassword.charAt(4);
+        char ones = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return 0;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
@@ -1,33 +1,68 @@
 package org.wldu.webservices.auths;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UserService userService;
+    private final Executor loginExecutor;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          JwtUtil jwtUtil) {
+                          JwtUtil jwtUtil,
+                          UserService userService,
+                          @Qualifier("loginExecutor") Executor loginExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.userService = userService;
+        this.loginExecutor = loginExecutor;
     }
 
+    // Hashing runs on the bounded login executor; the request thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(request), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            // Queue full → tell the client to back off instead of piling up
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header("Retry-After", "1")
+                            .body("Too many login attempts, retry shortly"));
+        }
+    }
+
+    private ResponseEntity<?> authenticate(AuthRequest request) {
         // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(), request.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+        }
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(request.getUsername());
+        // Generate JWT token carrying roles and token version
+        String token = jwtUtil.generateToken(
+                authentication.getName(),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                userService.currentTokenVersion(authentication.getName()));
 
         // Return token
         return ResponseEntity.ok(new AuthResponse(token));
@@ -1,24 +1,34 @@
 package org.wldu.webservices.auths;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final int MAX_CACHED_USERS = 10_000;
 
     private final UserRepository userRepository;
+    private final long cacheTtlMillis;
+
+    // Token-authenticated principals, so the JWT filter skips the users table
+    private final TtlCache<String, UserDetails> userCache = new TtlCache<>(MAX_CACHED_USERS);
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${security.user-cache.ttl-ms:30000}") long cacheTtlMillis) {
         this.userRepository = userRepository;
+        this.cacheTtlMillis = cacheTtlMillis;
     }
 
+    // Used for password login: always reads the stored hash
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        User user = findUser(username);
 
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getUsername())
@@ -26,4 +36,40 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .roles(user.getRole().replace("ROLE_", ""))
                 .build();
     }
+
+    // Used for bearer tokens: cached for a short TTL and without the password hash
+    public UserDetails loadTokenUser(String username)
+            throws UsernameNotFoundException {
+        return userCache.computeIfAbsent(username, name -> {
+            User user = findUser(name);
+            return org.springframework.security.core.userdetails.User
+                    .withUsername(user.getUsername())
+                    .password("")
+                    .roles(user.getRole().replace("ROLE_", ""))
+                    .build();
+        }, details -> System.currentTimeMillis() + cacheTtlMillis);
+    }
+
+    // Called by DaoAuthenticationProvider after a login whose hash used an outdated cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = findUser(userDetails.getUsername());
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evictUser(user.getUsername());
+
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
+    public void evictUser(String username) {
+        userCache.remove(username);
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
 }
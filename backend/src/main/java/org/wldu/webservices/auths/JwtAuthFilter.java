@@ -1,52 +1,58 @@
 package org.wldu.webservices.auths;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
-
-    // PUBLIC ENDPOINTS (JWT NOT REQUIRED)
-    private static final List<String> PUBLIC_PATHS = List.of(
-            "/auth",
-            "/user/register",
-            "/api/dashboard",
-            "/api/chemicals",
-            "/api/equipment",
-            "/api/suppliers",
-            "/api/transactions"  // ✅ Add transactions here
-    );
-
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    private final TokenVersionRegistry tokenVersions;
+    private final PublicPathMatcher publicPaths;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         CustomUserDetailsService userDetailsService,
+                         TokenVersionRegistry tokenVersions,
+                         PublicPathMatcher publicPaths,
+                         MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
+        this.publicPaths = publicPaths;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getRequestURI();
-
         // Allow CORS preflight
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             return true;
         }
 
-        // Allow public endpoints
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
+        // Allow public endpoints (precompiled trie, no allocation)
+        return publicPaths.matches(request);
     }
 
     @Override
@@ -56,50 +62,108 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // Times only the token check, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = authenticate(request);
+        sample.stop(timers.computeIfAbsent(outcome, this::timer));
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Sets the security context when the bearer token is good; returns the outcome tag
+    private String authenticate(HttpServletRequest request) {
+
         String authHeader = request.getHeader("Authorization");
 
         // No token → continue
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return "anonymous";
         }
 
         String jwt = authHeader.substring(7);
-        String username;
+        Claims claims;
 
         try {
-            username = jwtUtil.extractUsername(jwt);
+            claims = jwtUtil.extractAllClaims(jwt);
         } catch (Exception e) {
             // Invalid token → continue
-            filterChain.doFilter(request, response);
-            return;
+            return "invalid";
         }
 
-        if (username != null &&
-                SecurityContextHolder.getContext().getAuthentication() == null) {
+        String username = claims.getSubject();
 
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(username);
+        if (username == null ||
+                SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
+        }
 
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+        UserDetails userDetails;
+        if (claims.containsKey(JwtUtil.ROLES_CLAIM)) {
+            // Role-embedded token: no database access, only the version check
+            userDetails = fromClaims(username, claims);
+        } else {
+            // Legacy subject-only token: it has no "ver", so it counts as version 0
+            // and is dead once the user's tokens have been revoked
+            if (!tokenVersions.isCurrent(username, 0)) {
+                return "rejected";
+            }
+            // Roles come from the (cached) users table
+            try {
+                userDetails = userDetailsService.loadTokenUser(username);
+            } catch (UsernameNotFoundException e) {
+                // Token for a deleted user → continue unauthenticated
+                return "rejected";
+            }
+            if (!jwtUtil.isTokenValid(jwt, userDetails)) {
+                userDetails = null;
+            }
+        }
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+        if (userDetails == null) {
+            return "rejected";
+        }
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource()
-                                .buildDetails(request)
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
                 );
 
-                SecurityContextHolder.getContext()
-                        .setAuthentication(authToken);
-            }
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource()
+                        .buildDetails(request)
+        );
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authToken);
+        return "authenticated";
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("security.jwt.filter")
+                .description("Bearer token checks in JwtAuthFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Null when the token predates the user's latest revocation
+    private UserDetails fromClaims(String username, Claims claims) {
+        Number version = claims.get(JwtUtil.VERSION_CLAIM, Number.class);
+        if (version == null || !tokenVersions.isCurrent(username, version.intValue())) {
+            return null;
         }
 
-        filterChain.doFilter(request, response);
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role.toString()));
+        }
+
+        return org.springframework.security.core.userdetails.User
+                .withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
     }
 }
@@ -1,14 +1,21 @@
 package org.wldu.webservices.auths;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
@@ -18,16 +25,39 @@ public class JwtUtil {
 
     private static final long EXPIRATION = 1000 * 60 * 60;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    static final String ROLES_CLAIM = "roles";
+    static final String VERSION_CLAIM = "ver";
+
+    // Tokens verified at most once each; entries die with the token's exp
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    // Built once: both are immutable and thread-safe
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    private final TtlCache<String, Claims> claimsCache = new TtlCache<>(MAX_CACHED_TOKENS);
 
+    // Subject-only token as issued before roles and "ver" were signed in
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Stateless token: the filter rebuilds the Authentication from these claims alone
+    public String generateToken(String username, Collection<String> roles, int tokenVersion) {
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(ROLES_CLAIM, List.copyOf(roles))
+                .claim(VERSION_CLAIM, tokenVersion)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -40,12 +70,19 @@ public class JwtUtil {
                 && !isTokenExpired(token);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims extractAllClaims(String token) {
+        String key = hash(token);
+        Claims cached = claimsCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Throws on bad signature or expiry, so only verified claims are cached
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            claimsCache.put(key, claims, claims.getExpiration().getTime());
+        }
+        return claims;
     }
 
     private boolean isTokenExpired(String token) {
@@ -53,4 +90,15 @@ public class JwtUtil {
                 .getExpiration()
                 .before(new Date());
     }
+
+    // Cache by digest so raw bearer tokens are not kept in memory
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
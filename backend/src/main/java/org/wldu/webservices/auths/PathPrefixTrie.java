@@ -0,0 +1,91 @@
+package org.wldu.webservices.auths;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable character trie of path prefixes, built once at startup.
+ * A prefix matches whole segments only: "/auth" matches "/auth" and
+ * "/auth/login" but not "/authors", the same as an ant "/auth/**" pattern.
+ * Lookups walk the path in place and allocate nothing.
+ */
+public final class PathPrefixTrie {
+
+    private final Node root;
+
+    public PathPrefixTrie(Collection<String> prefixes) {
+        Builder rootBuilder = new Builder();
+        for (String prefix : prefixes) {
+            String normalized = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+            Builder node = rootBuilder;
+            for (int i = 0; i < normalized.length(); i++) {
+                node = node.children.computeIfAbsent(normalized.charAt(i), c -> new Builder());
+            }
+            node.terminal = true;
+        }
+        this.root = rootBuilder.build();
+    }
+
+    public boolean matches(CharSequence path) {
+        return matches(path, 0);
+    }
+
+    // Matches path.subSequence(from, length) without creating it
+    public boolean matches(CharSequence path, int from) {
+        int length = path.length();
+        Node node = root;
+        for (int i = from; ; i++) {
+            if (node.terminal && (i == length || path.charAt(i) == '/')) {
+                return true;
+            }
+            if (i == length) {
+                return false;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final boolean terminal;
+
+        private Node(char[] keys, Node[] children, boolean terminal) {
+            this.keys = keys;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        // Fan-out is tiny (a handful of route names), so a linear scan beats hashing
+        private Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Builder {
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private boolean terminal;
+
+        private Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(Arrays.copyOf(keys, i), nodes, terminal);
+        }
+    }
+}
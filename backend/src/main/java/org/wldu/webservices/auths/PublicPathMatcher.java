@@ -0,0 +1,40 @@
+package org.wldu.webservices.auths;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The one list of routes that need no JWT. SecurityConfig permits them and
+ * JwtAuthFilter skips them; every other route requires authentication.
+ */
+@Component
+public class PublicPathMatcher implements RequestMatcher {
+
+    // PUBLIC ENDPOINTS (JWT NOT REQUIRED), each covering its whole subtree
+    public static final List<String> PUBLIC_PATHS = List.of(
+            "/auth",
+            "/user/register",
+            "/api/dashboard",
+            "/api/chemicals",
+            "/api/equipment",
+            "/api/suppliers",
+            "/api/transactions",
+            // Liveness checks carry no token; every other actuator endpoint needs ADMIN
+            "/actuator/health"
+    );
+
+    private final PathPrefixTrie trie = new PathPrefixTrie(PUBLIC_PATHS);
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        // Skip the context path in place rather than substring it
+        return trie.matches(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    public boolean matches(String path) {
+        return trie.matches(path);
+    }
+}
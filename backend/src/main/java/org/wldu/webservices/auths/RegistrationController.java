@@ -1,6 +1,8 @@
 package org.wldu.webservices.auths;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,5 +23,13 @@ public class RegistrationController {
         User user = userService.register(request);
         return ResponseEntity.ok("User created successfully");
     }
+
+    // Logs the user out everywhere: all previously issued tokens stop working
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{username}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable String username) {
+        userService.revokeTokens(username);
+        return ResponseEntity.ok("Tokens revoked");
+    }
 }
 
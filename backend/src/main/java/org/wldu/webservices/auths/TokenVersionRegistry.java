@@ -0,0 +1,55 @@
+package org.wldu.webservices.auths;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory copy of users' token versions, consulted by JwtAuthFilter instead of
+ * the users table. Only users that were ever revoked (version > 0) are held, and
+ * the snapshot is reloaded periodically so revocations on other nodes arrive too.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    // Immutable snapshot, swapped whole on refresh or local revocation
+    private volatile Map<String, Integer> versions = Map.of();
+
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.token-versions.refresh-ms:30000}")
+    public void refresh() {
+        Map<String, Integer> loaded = new HashMap<>();
+        for (UserTokenVersion row : userRepository.findRevokedTokenVersions()) {
+            loaded.put(row.getUsername(), row.getTokenVersion());
+        }
+        // Versions only grow, so a snapshot read before a local update cannot undo it
+        synchronized (this) {
+            versions.forEach((user, version) -> loaded.merge(user, version, Math::max));
+            versions = Map.copyOf(loaded);
+        }
+    }
+
+    public int currentVersion(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        return tokenVersion >= currentVersion(username);
+    }
+
+    // Applies a revocation made on this node without waiting for the next refresh
+    synchronized void update(String username, int tokenVersion) {
+        Map<String, Integer> next = new HashMap<>(versions);
+        next.put(username, tokenVersion);
+        versions = Map.copyOf(next);
+    }
+}
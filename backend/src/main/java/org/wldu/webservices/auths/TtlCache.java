@@ -0,0 +1,77 @@
+package org.wldu.webservices.auths;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache whose entries carry their own expiry time. Backed by Caffeine:
+ * expired entries drop out on their own timer wheel and a full cache evicts by
+ * recency and frequency, both amortised across calls.
+ */
+class TtlCache<K, V> {
+
+    private final Cache<K, Entry<V>> entries;
+
+    TtlCache(int maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry<K, V>())
+                .build();
+    }
+
+    V get(K key) {
+        Entry<V> entry = entries.getIfPresent(key);
+        return entry == null ? null : entry.value;
+    }
+
+    void put(K key, V value, long expiresAt) {
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    // Returns the cached value or loads, caches and returns a fresh one
+    V computeIfAbsent(K key, Function<K, V> loader, Function<V, Long> expiryOf) {
+        return entries.get(key, k -> {
+            V loaded = loader.apply(k);
+            return new Entry<>(loaded, expiryOf.apply(loaded));
+        }).value;
+    }
+
+    void remove(K key) {
+        entries.invalidate(key);
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+
+    int size() {
+        return (int) entries.estimatedSize();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    // Lifetime runs from the write to the entry's own expiresAt; reads do not extend it
+    private static final class EntryExpiry<K, V> implements Expiry<K, Entry<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Entry<V> entry, long currentTime) {
+            long millisLeft = entry.expiresAt - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package org.wldu.webservices.auths;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("select u.tokenVersion from User u where u.username = :username")
+    Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
+    // Only revoked users: everyone else is implicitly at version 0
+    @Query("select u.username as username, u.tokenVersion as tokenVersion from User u where u.tokenVersion > 0")
+    List<UserTokenVersion> findRevokedTokenVersions();
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
 }
 
@@ -2,17 +2,24 @@ package org.wldu.webservices.auths;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersions;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       CustomUserDetailsService userDetailsService,
+                       TokenVersionRegistry tokenVersions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
     }
 
     public User register(RegisterRequestDto request) {
@@ -27,7 +34,27 @@ throw new RuntimeException("Username already exists");
  user.setRole("ROLE_USER");
  }
 
- return userRepository.save(user);
+ User saved = userRepository.save(user);
+ userDetailsService.evictUser(saved.getUsername());
+ return saved;
+    }
+
+    // Read from the table, not the registry, so a fresh login never gets a stale version
+    public int currentTokenVersion(String username) {
+        return userRepository.findTokenVersionByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Invalidates every token issued to the user so far
+    @Transactional
+    public int revokeTokens(String username) {
+        if (userRepository.incrementTokenVersion(username) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        int version = currentTokenVersion(username);
+        tokenVersions.update(username, version);
+        userDetailsService.evictUser(username);
+        return version;
     }
 }
 
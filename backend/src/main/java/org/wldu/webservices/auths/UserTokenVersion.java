@@ -0,0 +1,6 @@
+package org.wldu.webservices.auths;
+
+public interface UserTokenVersion {
+    String getUsername();
+    Integer getTokenVersion();
+}
@@ -0,0 +1,61 @@
+package org.wldu.webservices.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.enities.Unit;
+import org.wldu.webservices.repositories.ChemicalRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains chemicals.base_quantity, the quantity in ml, as a stored generated
+ * column whose unit factors are written out from Unit, and the partial index
+ * behind the low-stock queries on top of it. JPA can declare neither. The
+ * column's expression is kept in its comment; when Unit changes, the column is
+ * rebuilt on the next start. The index only holds chemicals below their reorder
+ * level, which keeps it tiny and lets the dashboard count come straight from it.
+ */
+@Component
+public class BaseQuantityInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BaseQuantityInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // quantity * case unit when 'ML' then 1.0 when 'L' then 1000.0 end
+    static String baseQuantityExpression() {
+        return Arrays.stream(Unit.values())
+                .map(unit -> "when '" + unit.name() + "' then " + unit.toBase(1))
+                .collect(Collectors.joining(" ", "quantity * case unit ", " end"));
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        String expression = baseQuantityExpression();
+        List<String> current = jdbcTemplate.queryForList(
+                "select col_description(attrelid, attnum) from pg_attribute " +
+                        "where attrelid = 'chemicals'::regclass and attname = 'base_quantity' and not attisdropped",
+                String.class);
+        if (current.isEmpty() || !expression.equals(current.get(0))) {
+            // Adding a stored column rewrites the table; the lock keeps writers out until it commits
+            jdbcTemplate.execute("lock table chemicals in access exclusive mode");
+            jdbcTemplate.execute("alter table chemicals drop column if exists base_quantity");
+            jdbcTemplate.execute("alter table chemicals add column base_quantity double precision " +
+                    "generated always as (" + expression + ") stored");
+            jdbcTemplate.execute("comment on column chemicals.base_quantity is '" + expression.replace("'", "''") + "'");
+        }
+
+        // Its predicate had the unit factors copied in by hand
+        jdbcTemplate.execute("drop index if exists idx_chemicals_low_stock");
+        jdbcTemplate.execute("create index if not exists idx_chemicals_below_reorder " +
+                "on chemicals (name, id) where " + ChemicalRepository.LOW_STOCK);
+    }
+}
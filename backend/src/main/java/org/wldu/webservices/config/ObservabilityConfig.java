@@ -0,0 +1,70 @@
+package org.wldu.webservices.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics beyond what Actuator records on its own. Boot already times every
+ * MVC request (http.server.requests), every Spring Data repository method
+ * (spring.data.repository.invocations) and the Hikari pool (hikaricp.*);
+ * SOAP endpoints and the JWT filter time themselves.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    // Static so the DataSource is wrapped without pulling this class in early
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${sql.slow-query.threshold-ms:200}") long thresholdMillis,
+            @Value("${sql.slow-query.sample-rate:1.0}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (thresholdMillis < 0 || !(bean instanceof DataSource dataSource)
+                        || bean instanceof SlowQueryDataSource) {
+                    return bean;
+                }
+                return new SlowQueryDataSource(dataSource, thresholdMillis, sampleRate);
+            }
+        };
+    }
+
+    // Counts every slow statement, including the ones the sampled log skipped
+    @Bean
+    public MeterBinder slowQueryMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof SlowQueryDataSource slowQueries) {
+                FunctionCounter.builder("jdbc.statements.slow", slowQueries, SlowQueryDataSource::getSlowStatementCount)
+                        .description("JDBC statements slower than sql.slow-query.threshold-ms")
+                        .register(registry);
+            }
+        };
+    }
+
+    // Adds the controller method to http.server.requests, next to the URI template
+    @Bean
+    public DefaultServerRequestObservationConvention handlerObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String name = handler instanceof HandlerMethod method
+                        ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                        : "none";
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", name));
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package org.wldu.webservices.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.enities.Unit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconciliation checks that a chemical's quantity equals its opening balance
+ * plus the ledger. Chemicals saved before that rule have no opening balance, so
+ * it is seeded once, as the quantity on hand minus the signed ledger sum, in ml.
+ * Ledger rows from that time have no entry unit either; they were in the
+ * chemical's unit, which is recorded first. A row in schema_backfills marks the
+ * seed done; marker and seed commit together, so a failed seed is retried on the
+ * next start and a finished one is never repeated.
+ */
+@Component
+public class OpeningQuantityInitializer implements ApplicationRunner {
+
+    private static final String BACKFILL = "chemicals.opening_quantity";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OpeningQuantityInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("create table if not exists schema_backfills (" +
+                "name varchar(100) primary key, applied_at timestamptz not null default now())");
+        int claimed = jdbcTemplate.update(
+                "insert into schema_backfills (name) values (?) on conflict do nothing", BACKFILL);
+        if (claimed == 0) {
+            return;
+        }
+        // Holds off postings and edits until the seed commits, so quantity and ledger are read as one
+        jdbcTemplate.execute("lock table chemicals, inventory_transactions in share mode");
+        jdbcTemplate.update("update inventory_transactions t set unit = c.unit " +
+                "from chemicals c where c.id = t.chemical_id and t.unit is null");
+
+        // Unit factors live in Unit, so the arithmetic happens here rather than in SQL
+        Map<Long, Double> ledger = new HashMap<>();
+        jdbcTemplate.query("select chemical_id, unit, " +
+                        "sum(case when transaction_type = 'OUT' then -quantity else quantity end) " +
+                        "from inventory_transactions group by chemical_id, unit",
+                rs -> {
+                    ledger.merge(rs.getLong(1), Unit.valueOf(rs.getString(2)).toBase(rs.getDouble(3)), Double::sum);
+                });
+
+        List<Object[]> openings = new ArrayList<>();
+        jdbcTemplate.query("select id, unit, quantity from chemicals where opening_quantity is null",
+                rs -> {
+                    long id = rs.getLong(1);
+                    double onHand = Unit.valueOf(rs.getString(2)).toBase(rs.getDouble(3));
+                    openings.add(new Object[]{onHand - ledger.getOrDefault(id, 0.0), id});
+                });
+        jdbcTemplate.batchUpdate("update chemicals set opening_quantity = ? where id = ?", openings);
+
+        // Superseded by opening_quantity: nothing maintains it any more
+        jdbcTemplate.execute("alter table chemicals drop column if exists posted_quantity");
+    }
+}
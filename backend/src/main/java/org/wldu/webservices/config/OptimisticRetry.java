@@ -0,0 +1,60 @@
+package org.wldu.webservices.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write that lost an optimistic lock race, with
+ * exponential backoff and jitter so the contenders spread out. Each attempt
+ * must read afresh and run in its own transaction; a rolled-back transaction
+ * clears the request's persistence context, so repository calls do.
+ * Once the attempts are used up the caller gets a 409.
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetry(@Value("${inventory.retry.max-attempts:5}") int maxAttempts,
+                           @Value("${inventory.retry.backoff-ms:10}") long backoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T run(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Concurrent update, retried " + attempt + " times", e);
+                }
+                log.debug("Optimistic lock conflict, attempt {} of {}", attempt, maxAttempts);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    // Full jitter: a random wait up to backoff * 2^(attempt - 1)
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
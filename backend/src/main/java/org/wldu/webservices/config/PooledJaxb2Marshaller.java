@@ -0,0 +1,99 @@
+package org.wldu.webservices.config;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.springframework.oxm.XmlMappingException;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.oxm.mime.MimeContainer;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Jaxb2Marshaller that reuses JAXB marshallers and unmarshallers instead of
+ * creating a pair per SOAP call. Both are cheap to keep but not thread-safe,
+ * so each call borrows one from a bounded pool and hands it back afterwards;
+ * a miss just creates a new one, and returns beyond the pool size are dropped.
+ *
+ * Only the DOM payloads SAAJ hands out are pooled. StAX, stream and MTOM
+ * paths go through the parent unchanged, which keeps its entity-expansion
+ * protection for parsed input.
+ */
+public class PooledJaxb2Marshaller extends Jaxb2Marshaller {
+
+    private final BlockingQueue<Marshaller> marshallers;
+    private final BlockingQueue<Unmarshaller> unmarshallers;
+    private final int poolSize;
+    private boolean mtomEnabled;
+
+    public PooledJaxb2Marshaller(int poolSize) {
+        this.poolSize = poolSize;
+        this.marshallers = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.unmarshallers = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    @Override
+    public void setMtomEnabled(boolean mtomEnabled) {
+        super.setMtomEnabled(mtomEnabled);
+        this.mtomEnabled = mtomEnabled;
+    }
+
+    // Builds the JAXBContext and fills the pools at startup, not on the first request
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        super.afterPropertiesSet();
+        getJaxbContext();
+        for (int i = 0; i < poolSize; i++) {
+            marshallers.offer(createMarshaller());
+            unmarshallers.offer(createUnmarshaller());
+        }
+    }
+
+    @Override
+    public void marshal(Object graph, Result result, MimeContainer mimeContainer) throws XmlMappingException {
+        if (!(result instanceof DOMResult) || (mimeContainer != null && mtomEnabled)) {
+            super.marshal(graph, result, mimeContainer);
+            return;
+        }
+        Marshaller marshaller = marshallers.poll();
+        if (marshaller == null) {
+            marshaller = createMarshaller();
+        }
+        try {
+            marshaller.marshal(graph, result);
+        } catch (JAXBException e) {
+            throw convertJaxbException(e);
+        } finally {
+            release(marshallers, marshaller);
+        }
+    }
+
+    @Override
+    public Object unmarshal(Source source, MimeContainer mimeContainer) throws XmlMappingException {
+        if (!(source instanceof DOMSource) || (mimeContainer != null && mtomEnabled)) {
+            return super.unmarshal(source, mimeContainer);
+        }
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = createUnmarshaller();
+        }
+        try {
+            return unmarshaller.unmarshal(source);
+        } catch (JAXBException e) {
+            throw convertJaxbException(e);
+        } finally {
+            release(unmarshallers, unmarshaller);
+        }
+    }
+
+    private <T> void release(BlockingQueue<T> pool, T instance) {
+        if (poolSize > 0) {
+            pool.offer(instance);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.wldu.webservices.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.wldu.webservices.repositories.SearchRepository;
+
+/**
+ * Indexes behind /api/search: trigram GIN indexes that serve ILIKE '%term%',
+ * which a b-tree cannot, and a lower(name) pattern index that returns prefix
+ * matches already sorted. JPA has no way to declare either, so they are
+ * created here. They need the pg_trgm extension, which only a superuser (or a
+ * database owner on PostgreSQL 13+) can create: if it is missing and cannot be
+ * created, startup stops and says how to install it (see README, Database).
+ */
+@Component
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureTrigramExtension();
+        for (SearchRepository.Source source : SearchRepository.SOURCES) {
+            createTrigramIndex(source.table(), "name");
+            createTrigramIndex(source.table(), source.detailColumn());
+            jdbcTemplate.execute("create index if not exists idx_" + source.table() + "_name_prefix " +
+                    "on " + source.table() + " (lower(name) text_pattern_ops)");
+        }
+    }
+
+    private void ensureTrigramExtension() {
+        Integer installed = jdbcTemplate.queryForObject(
+                "select count(*) from pg_extension where extname = 'pg_trgm'", Integer.class);
+        if (installed != null && installed > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("create extension if not exists pg_trgm");
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("The pg_trgm extension is missing and this database role " +
+                    "cannot create it. Run CREATE EXTENSION pg_trgm; in this database as a superuser, " +
+                    "then restart.", e);
+        }
+    }
+
+    private void createTrigramIndex(String table, String column) {
+        jdbcTemplate.execute("create index if not exists idx_" + table + "_" + column + "_trgm " +
+                "on " + table + " using gin (" + column + " gin_trgm_ops)");
+    }
+}
@@ -1,18 +1,21 @@
 package org.wldu.webservices.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.wldu.webservices.auths.AdaptiveBCryptPasswordEncoder;
 import org.wldu.webservices.auths.JwtAuthFilter;
+import org.wldu.webservices.auths.PublicPathMatcher;
 
 @Configuration
 @EnableMethodSecurity
@@ -20,13 +23,16 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final PublicPathMatcher publicPaths;
 
     public SecurityConfig(
             JwtAuthFilter jwtAuthFilter,
-            CorsConfigurationSource corsConfigurationSource
+            CorsConfigurationSource corsConfigurationSource,
+            PublicPathMatcher publicPaths
     ) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.publicPaths = publicPaths;
     }
 
     @Bean
@@ -43,16 +49,10 @@ public class SecurityConfig {
                 )
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
-                        // PUBLIC ENDPOINTS
-                        .requestMatchers(
-                                "/auth/**",
-                                "/user/register/**",
-                                "/api/chemicals/**",
-                                "/api/equipment/**",
-                                "/api/suppliers/**",
-                                "/api/dashboard/**",
-                                "/api/transactions/**" // ✅ Transactions public
-                        ).permitAll()
+                        // PUBLIC ENDPOINTS (listed once, in PublicPathMatcher)
+                        .requestMatchers(publicPaths).permitAll()
+                        // Remaining actuator endpoints (metrics, prometheus, ...) are admin only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // EVERYTHING ELSE REQUIRES AUTH
                         .anyRequest().authenticated()
                 )
@@ -65,9 +65,23 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Changing the cost rehashes each password on its owner's next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    // BCrypt is CPU-bound: one thread per core, a bounded queue, and AuthController answers 429 beyond it
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${security.login.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${security.login.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        return executor;
     }
 
     @Bean
@@ -0,0 +1,138 @@
+package org.wldu.webservices.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs JDBC statements that run longer than a threshold, in place of printing
+ * every statement through show-sql. Every slow statement is counted; only a
+ * sampled share of them is logged, so a slow database under load cannot turn
+ * the log itself into the bottleneck.
+ *
+ * Covers Hibernate and JdbcTemplate alike. For streamed result sets only the
+ * execute call is timed, not the rows fetched afterwards.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryDataSource.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final LongAdder slowStatements = new LongAdder();
+
+    public SlowQueryDataSource(DataSource target, long thresholdMillis, double sampleRate) {
+        super(target);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    public long getSlowStatementCount() {
+        return slowStatements.sum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), null);
+    }
+
+    private <T> T wrap(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(
+                SlowQueryDataSource.class.getClassLoader(), new Class<?>[]{type}, new Handler(target, sql)));
+    }
+
+    private void record(long elapsedNanos, String sql) {
+        slowStatements.increment();
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Slow SQL ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+        }
+    }
+
+    private final class Handler implements InvocationHandler {
+
+        private final Object target;
+        // Text of a prepared statement; null for connections and plain statements
+        private final String sql;
+
+        Handler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (target instanceof Connection) {
+                Object result = call(method, args);
+                if (result instanceof CallableStatement statement) {
+                    return wrap(CallableStatement.class, statement, (String) args[0]);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return wrap(PreparedStatement.class, statement, (String) args[0]);
+                }
+                if (result instanceof Statement statement) {
+                    return wrap(Statement.class, statement, null);
+                }
+                return result;
+            }
+
+            if (!name.startsWith("execute")) {
+                return call(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return call(method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= thresholdNanos) {
+                    record(elapsed, describe(name, args));
+                }
+            }
+        }
+
+        private String describe(String method, Object[] args) {
+            String text = sql != null ? sql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : "<statement>";
+            return method.startsWith("executeBatch") || method.startsWith("executeLargeBatch")
+                    ? text + " [batch]"
+                    : text;
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
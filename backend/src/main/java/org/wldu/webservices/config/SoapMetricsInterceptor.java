@@ -0,0 +1,71 @@
+package org.wldu.webservices.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ws.FaultAwareWebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+
+/**
+ * Times every SOAP call as soap.server.requests, tagged with the
+ * {@code @PayloadRoot} method that handled it and whether it returned
+ * a response, a SOAP fault or threw.
+ */
+public class SoapMetricsInterceptor implements EndpointInterceptor {
+
+    private static final String SAMPLE = SoapMetricsInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry registry;
+
+    public SoapMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        messageContext.setProperty(SAMPLE, Timer.start(registry));
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (!(messageContext.getProperty(SAMPLE) instanceof Timer.Sample sample)) {
+            return;
+        }
+        sample.stop(Timer.builder("soap.server.requests")
+                .description("SOAP endpoint invocations")
+                .tag("endpoint", name(endpoint))
+                .tag("outcome", outcome(messageContext, ex))
+                .register(registry));
+    }
+
+    private static String name(Object endpoint) {
+        if (endpoint instanceof MethodEndpoint method) {
+            return method.getMethod().getDeclaringClass().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return endpoint.getClass().getSimpleName();
+    }
+
+    private static String outcome(MessageContext messageContext, Exception ex) {
+        if (ex != null) {
+            return "ERROR";
+        }
+        if (messageContext.hasResponse()
+                && messageContext.getResponse() instanceof FaultAwareWebServiceMessage response
+                && response.hasFault()) {
+            return "FAULT";
+        }
+        return "SUCCESS";
+    }
+}
@@ -1,25 +1,105 @@
 package org.wldu.webservices.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.ws.config.annotation.EnableWs;
+import org.springframework.ws.config.annotation.WsConfigurationSupport;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MarshallingPayloadMethodProcessor;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.soap.axiom.AxiomSoapMessageFactory;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 
-@EnableWs
+import java.util.ArrayList;
+import java.util.List;
+
+// Extends WsConfigurationSupport instead of @EnableWs to put the shared marshaller first
 @Configuration
-public class SoapWebServiceConfig {
+public class SoapWebServiceConfig extends WsConfigurationSupport {
+
+    @Value("${soap.jaxb.pool-size:32}")
+    private int marshallerPoolSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // One JAXBContext for every SOAP payload class, built at startup
+    @Bean
+    public PooledJaxb2Marshaller soapMarshaller() {
+        PooledJaxb2Marshaller marshaller = new PooledJaxb2Marshaller(marshallerPoolSize);
+        marshaller.setPackagesToScan("xsdgenerated", "com.wldu.xsdgenerated");
+        return marshaller;
+    }
+
+    // The built-in JAXB processors cache a context per class and create a marshaller per call;
+    // ours goes ahead of them, they still handle types without @XmlRootElement
+    @Bean
+    @Override
+    public DefaultMethodEndpointAdapter defaultMethodEndpointAdapter() {
+        DefaultMethodEndpointAdapter adapter = super.defaultMethodEndpointAdapter();
+        try {
+            adapter.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not initialise SOAP endpoint adapter", e);
+        }
+        MarshallingPayloadMethodProcessor processor = new MarshallingPayloadMethodProcessor(soapMarshaller());
+
+        List<MethodArgumentResolver> resolvers = new ArrayList<>(adapter.getMethodArgumentResolvers());
+        resolvers.add(0, processor);
+        adapter.setMethodArgumentResolvers(resolvers);
+
+        List<MethodReturnValueHandler> handlers = new ArrayList<>(adapter.getMethodReturnValueHandlers());
+        handlers.add(0, processor);
+        adapter.setMethodReturnValueHandlers(handlers);
+        return adapter;
+    }
+
+    // Runs for every @PayloadRoot method on all three services
+    @Override
+    protected void addInterceptors(List<EndpointInterceptor> interceptors) {
+        interceptors.add(new SoapMetricsInterceptor(meterRegistry));
+    }
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext context) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
         servlet.setApplicationContext(context);
         servlet.setTransformWsdlLocations(true);
-        return new ServletRegistrationBean<>(servlet, "/ws/*");
+        ServletRegistrationBean<MessageDispatcherServlet> registration = new ServletRegistrationBean<>(servlet, "/ws/*");
+        // Initialise endpoint mappings at startup rather than on the first SOAP call
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    // /ws/course gets its own dispatcher on Axiom: with payload caching off the request is
+    // read once as a stream and GetAllCourses writes rows while the response is sent
+    @Bean
+    public ServletRegistrationBean<MessageDispatcherServlet> courseDispatcherServlet(ApplicationContext context) {
+        MessageDispatcherServlet servlet = new MessageDispatcherServlet();
+        servlet.setApplicationContext(context);
+        servlet.setMessageFactoryBeanName("streamingMessageFactory");
+        ServletRegistrationBean<MessageDispatcherServlet> registration =
+                new ServletRegistrationBean<>(servlet, "/ws/course", "/ws/course/*");
+        registration.setName("courseDispatcherServlet");
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    @Bean
+    public AxiomSoapMessageFactory streamingMessageFactory() {
+        AxiomSoapMessageFactory factory = new AxiomSoapMessageFactory();
+        factory.setPayloadCaching(false);
+        return factory;
     }
 
     @Bean(name = "persons")
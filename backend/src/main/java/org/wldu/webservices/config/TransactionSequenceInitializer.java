@@ -0,0 +1,29 @@
+package org.wldu.webservices.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * inventory_transactions ids used to come from an IDENTITY column. Move the pooled
+ * sequence past any existing id so sequence-generated ids never collide with old rows.
+ */
+@Component
+public class TransactionSequenceInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.queryForObject(
+                "select setval('inventory_transactions_seq', greatest(" +
+                        "(select coalesce(max(id), 0) from inventory_transactions), " +
+                        "(select last_value from inventory_transactions_seq)))",
+                Long.class);
+    }
+}
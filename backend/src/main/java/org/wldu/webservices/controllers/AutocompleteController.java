@@ -0,0 +1,41 @@
+package org.wldu.webservices.controllers;
+
+import dto.AutocompleteDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.services.contracts.AutocompleteService;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    // GET /api/autocomplete/chemical?prefix=sod&limit=10 (type is chemical, equipment or supplier)
+    @GetMapping("/{type}")
+    public List<AutocompleteDTO> complete(@PathVariable String type,
+                                          @RequestParam(defaultValue = "") String prefix,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.complete(parseType(type), prefix, limit);
+    }
+
+    private static AutocompleteService.Type parseType(String type) {
+        try {
+            return AutocompleteService.Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown type: " + type);
+        }
+    }
+}
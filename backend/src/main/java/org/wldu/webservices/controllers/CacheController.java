@@ -0,0 +1,34 @@
+package org.wldu.webservices.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.wldu.webservices.services.contracts.CacheStatsService;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Map<String, Long>> getStats() {
+        return cacheStatsService.getRegionStats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> evictAll() {
+        cacheStatsService.evictAll();
+        return ResponseEntity.ok("Cache cleared");
+    }
+}
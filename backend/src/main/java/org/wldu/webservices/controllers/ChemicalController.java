@@ -1,21 +1,30 @@
 package org.wldu.webservices.controllers;
 
+import dto.ExpiryDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.wldu.webservices.enities.Chemical;
 import org.wldu.webservices.services.contracts.ChemicalService;
+import org.wldu.webservices.services.contracts.ExpiryService;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/chemicals")
 public class ChemicalController {
 
+    private static final int MAX_EXPIRING_DAYS = 3650;
+
     @Autowired
     private ChemicalService chemicalService;
 
+    @Autowired
+    private ExpiryService expiryService;
+
 
     @PostMapping
     public Chemical addChemical(@RequestBody Chemical chemical) {
@@ -28,6 +37,14 @@ public class ChemicalController {
         return chemicalService.getAllChemicals();
     }
 
+    // Keyset page: GET /api/chemicals?limit=50&after=<nextCursor>
+    @GetMapping(params = "limit")
+    public Map<String, Object> getChemicalPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        return chemicalService.getChemicalPage(after, limit).toResponse();
+    }
+
 
     @GetMapping("/{id}")
     public Optional<Chemical> getChemicalById(@PathVariable Long id) {
@@ -41,9 +58,20 @@ public class ChemicalController {
     }
 
 
+    // Both answered from the in-memory expiry index, no table scan
     @GetMapping("/expired")
-    public List<Chemical> getExpiredChemicals() {
-        return chemicalService.getExpiredChemicals(LocalDate.now());
+    public List<ExpiryDTO> getExpiredChemicals() {
+        return expiryService.getExpired(ExpiryService.Kind.CHEMICAL);
+    }
+
+    // GET /api/chemicals/expiring?days=30 (not yet expired, soonest first)
+    @GetMapping("/expiring")
+    public List<ExpiryDTO> getExpiringChemicals(@RequestParam(defaultValue = "30") int days) {
+        if (days < 0 || days > MAX_EXPIRING_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "days must be between 0 and " + MAX_EXPIRING_DAYS);
+        }
+        return expiryService.getExpiring(ExpiryService.Kind.CHEMICAL, days);
     }
 
 
@@ -13,16 +13,32 @@ import xsdgenerated.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.ws.server.endpoint.annotation.*;
 
+import jakarta.xml.bind.JAXBContext;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.context.MessageContext;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
 import java.util.List;
 
 @Endpoint
 public class CourseEndpoint {
 
     private static final String NAMESPACE_URI = "http://example.com/course";
+    private static final QName ALL_COURSES_RESPONSE = new QName(NAMESPACE_URI, "GetAllCoursesResponse");
+    private static final QName COURSE = new QName(NAMESPACE_URI, "course");
+    private static final QName NEXT_CURSOR = new QName(NAMESPACE_URI, "nextCursor");
 
     @Autowired
     private CourseService courseService;
 
+    private final JAXBContext courseContext;
+
+    // Shares the context the SOAP marshaller built at startup
+    public CourseEndpoint(Jaxb2Marshaller soapMarshaller) {
+        this.courseContext = soapMarshaller.getJaxbContext();
+    }
+
     // ================= Create Course =================
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "CreateCourseRequest")
     @ResponsePayload
@@ -55,19 +71,28 @@ public class CourseEndpoint {
     }
 
     // ================= Get All Courses =================
+    // Writes rows from the database cursor into the response payload; nextCursor resumes.
+    // Streamed on /ws/course, so the whole catalog goes out unless the caller asks for a page
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "GetAllCoursesRequest")
-    @ResponsePayload
-    public GetAllCoursesResponse getAllCourses(@RequestPayload GetAllCoursesRequestType request) {
-        GetAllCoursesResponse response = new GetAllCoursesResponse();
-        List<CourseEntity> courses = courseService.getAllCourses();
-        for (CourseEntity course : courses) {
-            CourseType dto = new CourseType();
-            dto.setCourseCode(course.getCourseCode());
-            dto.setTitle(course.getTitle());
-            dto.setEcts(course.getEcts());
-            response.getCourse().add(dto);
-        }
-        return response;
+    public void getAllCourses(@RequestPayload GetAllCoursesRequestType request, MessageContext messageContext) {
+        String after = request.getAfter();
+        Integer requested = request.getPageSize();
+        StreamingPayloadWriter.respond(messageContext, courseContext, ALL_COURSES_RESPONSE, payload -> {
+            Integer pageSize = requested;
+            if (!payload.isStreaming()) {
+                pageSize = courseService.bufferedPageSize(requested);
+            }
+            String nextCursor = courseService.forEachCourse(after, pageSize, course -> {
+                CourseType dto = new CourseType();
+                dto.setCourseCode(course.getCourseCode());
+                dto.setTitle(course.getTitle());
+                dto.setEcts(course.getEcts());
+                payload.write(COURSE, CourseType.class, dto);
+            });
+            if (nextCursor != null) {
+                payload.writeText(NEXT_CURSOR, nextCursor);
+            }
+        });
     }
 
     // ================= Update Course =================
@@ -92,4 +117,49 @@ public class CourseEndpoint {
         response.setStatus(courseService.deleteCourse(request.getCourseCode()));
         return response;
     }
+
+    // ================= Batch Operations =================
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "CreateCoursesBatchRequest")
+    @ResponsePayload
+    public CreateCoursesBatchResponse createCoursesBatch(@RequestPayload CreateCoursesBatchRequest request) {
+        CreateCoursesBatchResponse response = new CreateCoursesBatchResponse();
+        upsertAll(request.getCourse(), response.getResult());
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "UpdateCoursesBatchRequest")
+    @ResponsePayload
+    public UpdateCoursesBatchResponse updateCoursesBatch(@RequestPayload UpdateCoursesBatchRequest request) {
+        UpdateCoursesBatchResponse response = new UpdateCoursesBatchResponse();
+        upsertAll(request.getCourse(), response.getResult());
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "DeleteCoursesBatchRequest")
+    @ResponsePayload
+    public DeleteCoursesBatchResponse deleteCoursesBatch(@RequestPayload DeleteCoursesBatchRequest request) {
+        DeleteCoursesBatchResponse response = new DeleteCoursesBatchResponse();
+        List<String> codes = request.getCourseCode();
+        addResults(codes, courseService.deleteCourses(codes), response.getResult());
+        return response;
+    }
+
+    private void upsertAll(List<CourseType> courses, List<CourseStatusType> results) {
+        List<CourseEntity> entities = new ArrayList<>(courses.size());
+        List<String> codes = new ArrayList<>(courses.size());
+        for (CourseType dto : courses) {
+            entities.add(new CourseEntity(dto.getCourseCode(), dto.getTitle(), dto.getEcts()));
+            codes.add(dto.getCourseCode());
+        }
+        addResults(codes, courseService.upsertCourses(entities), results);
+    }
+
+    private static void addResults(List<String> codes, List<String> statuses, List<CourseStatusType> results) {
+        for (int i = 0; i < codes.size(); i++) {
+            CourseStatusType result = new CourseStatusType();
+            result.setCourseCode(codes.get(i));
+            result.setStatus(statuses.get(i));
+            results.add(result);
+        }
+    }
 }
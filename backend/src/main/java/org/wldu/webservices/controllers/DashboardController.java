@@ -1,14 +1,15 @@
 package org.wldu.webservices.controllers;
 
+import dto.TransactionDTO;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.wldu.webservices.enities.Chemical;
-import org.wldu.webservices.enities.InventoryTransaction;
-import org.wldu.webservices.repositories.InventoryTransactionRepository;
-import org.wldu.webservices.services.contracts.ChemicalService;
-import org.wldu.webservices.services.contracts.EquipmentService;
-import org.wldu.webservices.services.contracts.SupplierService;
+import org.wldu.webservices.events.InventoryEventBroadcaster;
+import org.wldu.webservices.services.contracts.DashboardService;
+import org.wldu.webservices.services.contracts.InventoryTransactionService;
 
 import java.util.List;
 import java.util.Map;
@@ -17,60 +18,37 @@ import java.util.Map;
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
-    private final ChemicalService chemicalService;
-    private final EquipmentService equipmentService;
-    private final SupplierService supplierService;
-    private final InventoryTransactionRepository transactionRepository;
+    private final DashboardService dashboardService;
+    private final InventoryTransactionService transactionService;
+    private final InventoryEventBroadcaster broadcaster;
 
-    private static final int LOW_STOCK_THRESHOLD = 10; // default threshold
-
-    public DashboardController(ChemicalService chemicalService,
-                               EquipmentService equipmentService,
-                               SupplierService supplierService,
-                               InventoryTransactionRepository transactionRepository) {
-        this.chemicalService = chemicalService;
-        this.equipmentService = equipmentService;
-        this.supplierService = supplierService;
-        this.transactionRepository = transactionRepository;
+    public DashboardController(DashboardService dashboardService,
+                               InventoryTransactionService transactionService,
+                               InventoryEventBroadcaster broadcaster) {
+        this.dashboardService = dashboardService;
+        this.transactionService = transactionService;
+        this.broadcaster = broadcaster;
     }
 
+    // Computed by one SQL statement and cached for a few seconds
     @GetMapping("/stats")
     public Map<String, Long> getStats() {
-
-        long totalChemicals  = safe(chemicalService.countAll());
-        long equipmentItems  = safe(equipmentService.countAll());
-        long lowStockAlerts  = safe(chemicalService.countLowStock(LOW_STOCK_THRESHOLD));
-        long activeSuppliers = safe(supplierService.countActiveSuppliers());
-
-        return Map.of(
-                "totalChemicals", totalChemicals,
-                "equipmentItems", equipmentItems,
-                "lowStockAlerts", lowStockAlerts,
-                "activeSuppliers", activeSuppliers
-        );
-    }
-
-    /**
-     * Safely convert Object -> long
-     * Handles null, Long, Integer, BigInteger, etc.
-     */
-    private long safe(Object value) {
-        if (value == null) {
-            return 0L;
-        }
-        if (value instanceof Number number) {
-            return number.longValue();
-        }
-        return 0L;
+        return dashboardService.getStats();
     }
 
     @GetMapping("/transactions/recent")
-    public List<InventoryTransaction> getRecentTransactions() {
-        return transactionRepository.findTop5ByOrderByTransactionDateDesc();
+    public List<TransactionDTO> getRecentTransactions() {
+        return transactionService.getRecentTransactions(5);
     }
 
     @GetMapping("/stock/low")
     public List<Chemical> getLowStock() {
-        return chemicalService.findLowStock(LOW_STOCK_THRESHOLD);
+        return dashboardService.getLowStock();
+    }
+
+    // Live updates: a "stats" snapshot on connect, then one "inventory" event per committed write
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return broadcaster.subscribe();
     }
 }
@@ -17,6 +17,7 @@ import org.wldu.webservices.services.contracts.EquipmentService;
 import org.springframework.data.domain.Pageable; // ✅ CORRECT
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -51,6 +52,14 @@ public class EquipmentController {
         return equipmentService.getAllEquipment();
     }
 
+    // Keyset page: GET /api/equipment?limit=50&after=<nextCursor>
+    @GetMapping(params = "limit")
+    public Map<String, Object> getEquipmentPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        return equipmentService.getEquipmentPage(after, limit).toResponse();
+    }
+
 
     @GetMapping("/{id}")
     public Optional<Equipment> getEquipmentById(@PathVariable Long id) {
@@ -1,17 +1,37 @@
 package org.wldu.webservices.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dto.BatchRowResultDTO;
+import dto.TransactionDTO;
+import dto.TransactionSummaryDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.wldu.webservices.enities.InventoryTransaction;
-import org.wldu.webservices.enities.Equipment;
-import org.wldu.webservices.enities.Chemical;
-import org.wldu.webservices.enities.Supplier;
 import org.wldu.webservices.enities.TransactionType;
+import org.wldu.webservices.enities.Unit;
 import org.wldu.webservices.repositories.InventoryTransactionRepository;
-import org.wldu.webservices.repositories.EquipmentRepository;
-import org.wldu.webservices.repositories.ChemicalRepository;
-import org.wldu.webservices.repositories.SupplierRepository;
+import org.wldu.webservices.services.contracts.InventoryTransactionService;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,20 +42,21 @@ import java.util.Optional;
 public class InventoryTransactionController {
 
     private final InventoryTransactionRepository transactionRepository;
-    private final EquipmentRepository equipmentRepository;
-    private final ChemicalRepository chemicalRepository;
-    private final SupplierRepository supplierRepository;
+    private final InventoryTransactionService transactionService;
+    private final ObjectWriter rowWriter;
+    private final ObjectReader payloadReader;
+
+    private static final int MAX_BATCH_ROWS = 5000;
 
     public InventoryTransactionController(
             InventoryTransactionRepository transactionRepository,
-            EquipmentRepository equipmentRepository,
-            ChemicalRepository chemicalRepository,
-            SupplierRepository supplierRepository
+            InventoryTransactionService transactionService,
+            ObjectMapper objectMapper
     ) {
         this.transactionRepository = transactionRepository;
-        this.equipmentRepository = equipmentRepository;
-        this.chemicalRepository = chemicalRepository;
-        this.supplierRepository = supplierRepository;
+        this.transactionService = transactionService;
+        this.rowWriter = objectMapper.writerFor(TransactionDTO.class);
+        this.payloadReader = objectMapper.readerFor(Map.class);
     }
 
     // ========================
@@ -43,41 +64,80 @@ public class InventoryTransactionController {
     // ========================
     @PostMapping
     public InventoryTransaction save(@RequestBody Map<String, Object> payload) {
-        Long equipmentId = Long.valueOf(payload.get("equipmentId").toString());
-        Long chemicalId = Long.valueOf(payload.get("chemicalId").toString());
-        Object supplierObj = payload.get("supplierId");
-        Double quantity = Double.valueOf(payload.get("quantity").toString());
-        String typeStr = payload.get("transactionType").toString();
-        String dateStr = payload.get("transactionDate").toString();
-        String notes = payload.getOrDefault("notes", "").toString();
+        // The service resolves the referenced entities and posts the stock movement
+        return transactionService.saveTransaction(fromPayload(payload));
+    }
+
+    // ========================
+    // BATCH CREATE
+    // Body is a JSON array or NDJSON (one object per line); each row is
+    // reported separately and a bad row does not reject the others.
+    // ========================
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<BatchRowResultDTO> saveBatch(InputStream body,
+                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType)
+            throws IOException {
+        List<BatchRowResultDTO> results = new ArrayList<>();
+        List<InventoryTransaction> parsed = new ArrayList<>();
+        List<Integer> parsedIndexes = new ArrayList<>();
 
-        // Load full entities
-        Equipment eq = equipmentRepository.findById(equipmentId)
-                .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        Chemical chem = chemicalRepository.findById(chemicalId)
-                .orElseThrow(() -> new RuntimeException("Chemical not found"));
-
-        Supplier sup = null;
-        if (supplierObj != null) {
-            Long supplierId = Long.valueOf(supplierObj.toString());
-            sup = supplierRepository.findById(supplierId)
-                    .orElseThrow(() -> new RuntimeException("Supplier not found"));
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            // Line by line, so a malformed line fails only its own row
+            BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            int index = 0;
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkBatchSize(index);
+                try {
+                    addRow(payloadReader.readValue(line), index, results, parsed, parsedIndexes);
+                } catch (JsonProcessingException e) {
+                    results.add(BatchRowResultDTO.failed(index, "Malformed JSON: " + e.getOriginalMessage()));
+                }
+                index++;
+            }
+        } else {
+            // A broken JSON array cannot be split into rows, so it still fails as a whole
+            try (MappingIterator<Map<String, Object>> rows = payloadReader.readValues(body)) {
+                int index = 0;
+                while (rows.hasNextValue()) {
+                    checkBatchSize(index);
+                    addRow(rows.nextValue(), index, results, parsed, parsedIndexes);
+                    index++;
+                }
+            }
         }
 
-        // Convert string to enum
-        TransactionType type = TransactionType.valueOf(typeStr.toUpperCase());
+        List<BatchRowResultDTO> saved = transactionService.saveTransactions(parsed);
+        for (int i = 0; i < saved.size(); i++) {
+            BatchRowResultDTO result = saved.get(i);
+            int index = parsedIndexes.get(i);
+            result.setIndex(index);
+            results.set(index, result);
+        }
+        return results;
+    }
 
-        // Build transaction
-        InventoryTransaction tx = new InventoryTransaction();
-        tx.setEquipment(eq);
-        tx.setChemical(chem);
-        tx.setSupplier(sup);
-        tx.setQuantity(quantity);
-        tx.setTransactionType(type);
-        tx.setTransactionDate(LocalDate.parse(dateStr));
-        tx.setNotes(notes);
+    private static void checkBatchSize(int index) {
+        if (index >= MAX_BATCH_ROWS) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + MAX_BATCH_ROWS + " rows per batch");
+        }
+    }
 
-        return transactionRepository.save(tx);
+    private static void addRow(Map<String, Object> row, int index, List<BatchRowResultDTO> results,
+                               List<InventoryTransaction> parsed, List<Integer> parsedIndexes) {
+        try {
+            parsed.add(fromPayload(row));
+            parsedIndexes.add(index);
+            results.add(null);
+        } catch (ResponseStatusException e) {
+            results.add(BatchRowResultDTO.failed(index, "Invalid row: " + e.getReason()));
+        } catch (RuntimeException e) {
+            results.add(BatchRowResultDTO.failed(index, "Invalid row: " + e.getMessage()));
+        }
     }
 
     // ========================
@@ -88,44 +148,7 @@ public class InventoryTransactionController {
             @PathVariable Long id,
             @RequestBody Map<String, Object> payload
     ) {
-        InventoryTransaction tx = transactionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
-
-        // Parse payload
-        Long equipmentId = Long.valueOf(payload.get("equipmentId").toString());
-        Long chemicalId = Long.valueOf(payload.get("chemicalId").toString());
-        Object supplierObj = payload.get("supplierId");
-        Double quantity = Double.valueOf(payload.get("quantity").toString());
-        String typeStr = payload.get("transactionType").toString();
-        String dateStr = payload.get("transactionDate").toString();
-        String notes = payload.getOrDefault("notes", "").toString();
-
-        // Load full entities
-        Equipment eq = equipmentRepository.findById(equipmentId)
-                .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        Chemical chem = chemicalRepository.findById(chemicalId)
-                .orElseThrow(() -> new RuntimeException("Chemical not found"));
-
-        Supplier sup = null;
-        if (supplierObj != null) {
-            Long supplierId = Long.valueOf(supplierObj.toString());
-            sup = supplierRepository.findById(supplierId)
-                    .orElseThrow(() -> new RuntimeException("Supplier not found"));
-        }
-
-        // Convert string to enum
-        TransactionType type = TransactionType.valueOf(typeStr.toUpperCase());
-
-        // Update transaction fields
-        tx.setEquipment(eq);
-        tx.setChemical(chem);
-        tx.setSupplier(sup); // can be null
-        tx.setQuantity(quantity);
-        tx.setTransactionType(type);
-        tx.setTransactionDate(LocalDate.parse(dateStr));
-        tx.setNotes(notes);
-
-        return transactionRepository.save(tx);
+        return transactionService.updateTransaction(id, fromPayload(payload));
     }
 
     // ========================
@@ -136,6 +159,55 @@ public class InventoryTransactionController {
         return transactionRepository.findAll();
     }
 
+    // ========================
+    // KEYSET PAGE (newest first)
+    // GET /api/transactions?limit=50&after=<nextCursor>
+    // ========================
+    @GetMapping(params = "limit")
+    public Map<String, Object> getTransactionPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit
+    ) {
+        return transactionService.getTransactionPage(after, limit).toResponse();
+    }
+
+    // ========================
+    // STREAM ALL (NDJSON)
+    // ========================
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactions() {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 16 * 1024);
+            transactionService.streamAllTransactions(row -> {
+                try {
+                    buffered.write(rowWriter.writeValueAsBytes(row));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // ========================
+    // SUMMARY (aggregated in the database)
+    // GET /api/transactions/summary?from=2025-01-01&to=2025-12-31&groupBy=month&by=chemical
+    // ========================
+    @GetMapping("/summary")
+    public List<TransactionSummaryDTO> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String groupBy,
+            @RequestParam(defaultValue = "chemical") String by,
+            @RequestParam(required = false) String type
+    ) {
+        return transactionService.summarizeTransactions(from, to, groupBy, by, type);
+    }
+
     // ========================
     // GET BY ID
     // ========================
@@ -148,33 +220,32 @@ public class InventoryTransactionController {
     // GET BY EQUIPMENT
     // ========================
     @GetMapping("/equipment/{equipmentId}")
-    public List<InventoryTransaction> getByEquipment(@PathVariable Long equipmentId) {
-        return transactionRepository.findByEquipment_Id(equipmentId);
+    public List<TransactionDTO> getByEquipment(@PathVariable Long equipmentId) {
+        return transactionService.getTransactionsByEquipment(equipmentId);
     }
 
     // ========================
     // GET BY CHEMICAL
     // ========================
     @GetMapping("/chemical/{chemicalId}")
-    public List<InventoryTransaction> getByChemical(@PathVariable Long chemicalId) {
-        return transactionRepository.findByChemical_Id(chemicalId);
+    public List<TransactionDTO> getByChemical(@PathVariable Long chemicalId) {
+        return transactionService.getTransactionsByChemical(chemicalId);
     }
 
     // ========================
     // GET BY TRANSACTION TYPE
     // ========================
     @GetMapping("/type/{type}")
-    public List<InventoryTransaction> getByType(@PathVariable String type) {
-        TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-        return transactionRepository.findByTransactionType(transactionType);
+    public List<TransactionDTO> getByType(@PathVariable String type) {
+        return transactionService.getTransactionsByType(type);
     }
 
     // ========================
     // GET LATEST 5
     // ========================
     @GetMapping("/recent")
-    public List<InventoryTransaction> getRecentTransactions() {
-        return transactionRepository.findTop5ByOrderByTransactionDateDesc();
+    public List<TransactionDTO> getRecentTransactions() {
+        return transactionService.getRecentTransactions(5);
     }
 
     // ========================
@@ -182,6 +253,47 @@ public class InventoryTransactionController {
     // ========================
     @DeleteMapping("/{id}")
     public void deleteTransaction(@PathVariable Long id) {
-        transactionRepository.deleteById(id);
+        transactionService.deleteTransaction(id);
+    }
+
+    // ========================
+    // PAYLOAD PARSING
+    // ========================
+    // Related entities are referenced by id only; the service loads and validates them.
+    static InventoryTransaction fromPayload(Map<String, Object> payload) {
+        // Every column of the row is NOT NULL except notes
+        Long equipmentId = Long.valueOf(required(payload, "equipmentId"));
+        Long chemicalId = Long.valueOf(required(payload, "chemicalId"));
+        Long supplierId = Long.valueOf(required(payload, "supplierId"));
+        Double quantity = Double.valueOf(required(payload, "quantity"));
+        String typeStr = required(payload, "transactionType");
+        String dateStr = required(payload, "transactionDate");
+        String notes = payload.getOrDefault("notes", "").toString();
+        // Optional: the unit quantity is in, when it differs from the chemical's
+        Object unitValue = payload.get("unit");
+
+        // Convert string to enum
+        TransactionType type = TransactionType.valueOf(typeStr.toUpperCase());
+
+        InventoryTransaction tx = new InventoryTransaction();
+        tx.setEquipmentById(equipmentId);
+        tx.setChemicalById(chemicalId);
+        tx.setSupplierById(supplierId);
+        tx.setQuantity(quantity);
+        if (unitValue != null && !unitValue.toString().isBlank()) {
+            tx.setUnit(Unit.valueOf(unitValue.toString().toUpperCase()));
+        }
+        tx.setTransactionType(type);
+        tx.setTransactionDate(LocalDate.parse(dateStr));
+        tx.setNotes(notes);
+        return tx;
+    }
+
+    private static String required(Map<String, Object> payload, String field) {
+        Object value = payload == null ? null : payload.get(field);
+        if (value == null || value.toString().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, field + " is required");
+        }
+        return value.toString();
     }
 }
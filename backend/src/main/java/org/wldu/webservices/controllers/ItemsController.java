@@ -68,6 +68,12 @@ public class ItemsController {
         return new ResponseEntity<>(updated, HttpStatus.OK);
     }
 
+    // PATCH /api/item/{id}/stock?delta=-3 (atomic; 409 when stock would go negative)
+    @PatchMapping("/{id}/stock")
+    public ResponseEntity<ItemsEntity> adjustStock(@PathVariable UUID id, @RequestParam int delta) {
+        return ResponseEntity.ok(itemService.adjustStock(id, delta));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBranch(@PathVariable UUID id) {
         itemService.deleteItems(id);
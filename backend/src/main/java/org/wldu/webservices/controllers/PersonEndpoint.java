@@ -1,24 +1,35 @@
 package org.wldu.webservices.controllers;
 
 import com.wldu.xsdgenerated.*;
+import jakarta.xml.bind.JAXBContext;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.context.MessageContext;
 import org.springframework.ws.server.endpoint.annotation.*;
-import org.wldu.webservices.repositories.PersonRepository;
+import org.wldu.webservices.services.imp.PersonService;
+
+import javax.xml.namespace.QName;
 ///  SOAP services
 @Endpoint
 public class PersonEndpoint {
 
     private static final String NAMESPACE_URI = "http://example.com/person";
-    private final PersonRepository personRepository;
+    private static final QName LIST_RESPONSE = new QName(NAMESPACE_URI, "listPersonsResponse");
+    private static final QName PERSONS = new QName(NAMESPACE_URI, "persons");
+    private static final QName NEXT_CURSOR = new QName(NAMESPACE_URI, "nextCursor");
+
+    private final PersonService personService;
+    private final JAXBContext personContext;
 
-    public PersonEndpoint(PersonRepository personRepository) {
-        this.personRepository = personRepository;
+    public PersonEndpoint(PersonService personService, Jaxb2Marshaller soapMarshaller) {
+        this.personService = personService;
+        this.personContext = soapMarshaller.getJaxbContext();
     }
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createPersonRequest")
     @ResponsePayload
     public CreatePersonResponse createPerson(@RequestPayload CreatePersonRequest request) {
         Person person = request.getPerson();
-        personRepository.create(person);
+        personService.save(person);
         CreatePersonResponse response = new CreatePersonResponse();
         response.setStatus("Created successfully");
         return response;
@@ -27,7 +38,7 @@ public class PersonEndpoint {
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getPersonRequest")
     @ResponsePayload
     public GetPersonResponse getPerson(@RequestPayload GetPersonRequest request) {
-        Person person = personRepository.read(request.getFirstName(), request.getLastName());
+        Person person = personService.find(request.getFirstName(), request.getLastName());
         GetPersonResponse response = new GetPersonResponse();
         response.setPerson(person);
         return response;
@@ -36,7 +47,7 @@ public class PersonEndpoint {
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "updatePersonRequest")
     @ResponsePayload
     public UpdatePersonResponse updatePerson(@RequestPayload UpdatePersonRequest request) {
-        Person updated = personRepository.update(request.getPerson());
+        Person updated = personService.save(request.getPerson());
         UpdatePersonResponse response = new UpdatePersonResponse();
         response.setStatus("Updated successfully");
         return response;
@@ -45,17 +56,28 @@ public class PersonEndpoint {
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "deletePersonRequest")
     @ResponsePayload
     public DeletePersonResponse deletePerson(@RequestPayload DeletePersonRequest request) {
-        boolean deleted = personRepository.delete(request.getFirstName(), request.getLastName());
+        boolean deleted = personService.delete(request.getFirstName(), request.getLastName());
         DeletePersonResponse response = new DeletePersonResponse();
         response.setStatus(deleted ? "Deleted successfully" : "Person not found");
         return response;
     }
 
+    // Writes rows from the database cursor into the response payload, one page at a time
+    // on /ws where the payload is a DOM; nextCursor resumes
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "listPersonsRequest")
-    @ResponsePayload
-    public ListPersonsResponse listPersons() {
-        ListPersonsResponse response = new ListPersonsResponse();
-        response.getPersons().addAll(personRepository.listAll());
-        return response;
+    public void listPersons(@RequestPayload ListPersonsRequestType request, MessageContext messageContext) {
+        PersonKeyType after = request.getAfter();
+        Integer requested = request.getPageSize();
+        StreamingPayloadWriter.respond(messageContext, personContext, LIST_RESPONSE, payload -> {
+            Integer pageSize = requested;
+            if (!payload.isStreaming()) {
+                pageSize = personService.bufferedPageSize(requested);
+            }
+            PersonKeyType nextCursor = personService.forEachPerson(after, pageSize,
+                    person -> payload.write(PERSONS, Person.class, person));
+            if (nextCursor != null) {
+                payload.write(NEXT_CURSOR, PersonKeyType.class, nextCursor);
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package org.wldu.webservices.controllers;
+
+import dto.SearchResultDTO;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.wldu.webservices.services.contracts.SearchService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // GET /api/search?q=acet&limit=10 (typeahead across chemicals, equipment, suppliers and items)
+    @GetMapping
+    public List<SearchResultDTO> search(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return searchService.search(q, limit);
+    }
+}
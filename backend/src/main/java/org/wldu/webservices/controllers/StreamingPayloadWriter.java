@@ -0,0 +1,109 @@
+package org.wldu.webservices.controllers;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.stream.StreamingPayload;
+import org.springframework.ws.stream.StreamingWebServiceMessage;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.function.Consumer;
+
+/**
+ * Writes a SOAP response payload element by element with StAX, so list
+ * endpoints can emit rows as they come off a cursor instead of building
+ * the whole JAXB response object first.
+ *
+ * Under a streaming message factory (Axiom with payload caching off, as on
+ * /ws/course) the rows are written while the response goes out, so the
+ * body runs after the endpoint method has returned. Under SAAJ the payload
+ * result is a DOM and the rows are held in memory until the message is
+ * sent; {@link #isStreaming()} lets callers bound the row count then.
+ */
+final class StreamingPayloadWriter {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final XMLStreamWriter writer;
+    private final Marshaller marshaller;
+    private final boolean streaming;
+
+    private StreamingPayloadWriter(XMLStreamWriter writer, JAXBContext jaxbContext, boolean streaming) {
+        this.writer = writer;
+        this.streaming = streaming;
+        try {
+            this.marshaller = jaxbContext.createMarshaller();
+            this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Could not create SOAP response marshaller", e);
+        }
+    }
+
+    // Sets the response payload to a root element whose children the body writes
+    static void respond(MessageContext messageContext, JAXBContext jaxbContext, QName root,
+                        Consumer<StreamingPayloadWriter> body) {
+        WebServiceMessage response = messageContext.getResponse();
+        if (response instanceof StreamingWebServiceMessage streamingResponse) {
+            streamingResponse.setStreamingPayload(new StreamingPayload() {
+                @Override
+                public QName getName() {
+                    return root;
+                }
+
+                @Override
+                public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
+                    // The writer belongs to the message, so it is left open
+                    new StreamingPayloadWriter(writer, jaxbContext, true).writeRoot(root, body);
+                    writer.flush();
+                }
+            });
+            return;
+        }
+        try {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(response.getPayloadResult());
+            new StreamingPayloadWriter(writer, jaxbContext, false).writeRoot(root, body);
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write SOAP response " + root, e);
+        }
+    }
+
+    // False when the written rows are buffered in the message until it is sent
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    // Marshals one child element, e.g. a single <persons> row
+    <T> void write(QName name, Class<T> type, T value) {
+        try {
+            marshaller.marshal(new JAXBElement<>(name, type, value), writer);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Could not write " + name, e);
+        }
+    }
+
+    void writeText(QName name, String text) {
+        try {
+            writer.writeStartElement("ns2", name.getLocalPart(), name.getNamespaceURI());
+            writer.writeCharacters(text);
+            writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write " + name, e);
+        }
+    }
+
+    private void writeRoot(QName root, Consumer<StreamingPayloadWriter> body) throws XMLStreamException {
+        writer.setPrefix("ns2", root.getNamespaceURI());
+        writer.writeStartElement("ns2", root.getLocalPart(), root.getNamespaceURI());
+        writer.writeNamespace("ns2", root.getNamespaceURI());
+        body.accept(this);
+        writer.writeEndElement();
+    }
+}
@@ -6,6 +6,7 @@ import org.wldu.webservices.enities.Supplier;
 import org.wldu.webservices.services.contracts.SupplierService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,6 +28,14 @@ public class SupplierController {
         return supplierService.getAllSuppliers();
     }
 
+    // Keyset page: GET /api/suppliers?limit=50&after=<nextCursor>
+    @GetMapping(params = "limit")
+    public Map<String, Object> getSupplierPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        return supplierService.getSupplierPage(after, limit).toResponse();
+    }
+
 
     @GetMapping("/{id}")
     public Optional<Supplier> getSupplierById(@PathVariable Long id) {
@@ -1,14 +1,23 @@
 package org.wldu.webservices.enities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.format.annotation.DurationFormat;
 import java.time.LocalDate;
 
 
 
 @Entity
-@Table(name ="chemicals")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "chemicals")
+@Table(name ="chemicals", indexes = @Index(name = "idx_chemicals_name_id", columnList = "name, id"))
 public class Chemical {
+
+    public static final double DEFAULT_REORDER_LEVEL = 10;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +41,22 @@ public class Chemical {
     @Column(nullable = false)
     private String storageLocation;
 
+    // Stock on hand before any ledger entry, in ml; quantity must equal this plus the ledger
+    @JsonIgnore
+    @Column(name = "opening_quantity", updatable = false)
+    private Double openingQuantity;
+
+    // Low-stock threshold in the base unit (ml), compared with the normalized quantity
+    @ColumnDefault("10")
+    @Column(name = "reorder_level", nullable = false)
+    private Double reorderLevel;
+
+    // Optimistic lock; the stock ledger's bulk UPDATE bumps it too
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
 
 
 
@@ -107,5 +132,36 @@ public class Chemical {
         this.storageLocation = storageLocation;
     }
 
+    public Double getOpeningQuantity() {
+        return openingQuantity;
+    }
+
+    public Double getReorderLevel() {
+        return reorderLevel;
+    }
+
+    public void setReorderLevel(Double reorderLevel) {
+        this.reorderLevel = reorderLevel;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Quantity in millilitres, whatever unit it is stored in
+    public double getBaseQuantity() {
+        return unit == null ? quantity : unit.toBase(quantity);
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (reorderLevel == null) reorderLevel = DEFAULT_REORDER_LEVEL;
+        openingQuantity = getBaseQuantity();
+    }
+
 
 }
@@ -1,6 +1,9 @@
 package org.wldu.webservices.enities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 //import java.util.function.Supplier;
@@ -10,7 +13,9 @@ import org.wldu.webservices.enities.Supplier;
 
 
     @Entity
-    @Table(name = "equipment")
+    @Cacheable
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "equipment")
+    @Table(name = "equipment", indexes = @Index(name = "idx_equipment_name_id", columnList = "name, id"))
     public class Equipment {
 
         @Id
@@ -39,6 +44,12 @@ import org.wldu.webservices.enities.Supplier;
 
         private String description;
 
+        // Optimistic lock, bumped on every update
+        @Version
+        @ColumnDefault("0")
+        @Column(nullable = false)
+        private Long version;
+
 
 
         public Equipment() {}
@@ -124,6 +135,15 @@ import org.wldu.webservices.enities.Supplier;
         }
 
         public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
         }
     }
 
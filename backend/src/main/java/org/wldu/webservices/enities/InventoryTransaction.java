@@ -10,26 +10,34 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_transactions")
+@Table(name = "inventory_transactions",
+        indexes = {
+                @Index(name = "idx_inventory_transactions_date_id", columnList = "transaction_date, id"),
+                // Date-range summaries (/api/transactions/summary)
+                @Index(name = "idx_inventory_transactions_date_chemical", columnList = "transaction_date, chemical_id")
+        })
 public class InventoryTransaction {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_transactions_seq")
+    @SequenceGenerator(name = "inventory_transactions_seq",
+            sequenceName = "inventory_transactions_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipment_id", nullable = false)
     @JsonIdentityReference(alwaysAsId = true)
     @JsonIgnoreProperties({"hibernateLazyInitializer"})
     private Equipment equipment;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chemical_id", nullable = false)
    @JsonIdentityReference(alwaysAsId = true)
     @JsonIgnoreProperties({"hibernateLazyInitializer"})
     private Chemical chemical;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
    @JsonIdentityReference(alwaysAsId = true)
     @JsonIgnoreProperties({"hibernateLazyInitializer"})
@@ -38,6 +46,12 @@ public class InventoryTransaction {
     @Column(nullable = false)
     private double quantity;
 
+    // Unit the quantity was entered in; posting converts it to the chemical's unit.
+    // The service fills in the chemical's unit when the request leaves it out.
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private Unit unit;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TransactionType transactionType; // IN / OUT / ADJUSTMENT
@@ -86,6 +100,9 @@ public class InventoryTransaction {
     public double getQuantity() { return quantity; }
     public void setQuantity(double quantity) { this.quantity = quantity; }
 
+    public Unit getUnit() { return unit; }
+    public void setUnit(Unit unit) { this.unit = unit; }
+
     public TransactionType getTransactionType() { return transactionType; }
     public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
 
@@ -3,6 +3,7 @@ package org.wldu.webservices.enities;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -59,6 +60,12 @@ public class ItemsEntity {
     @Column(name = "status", nullable = false)
     private String status = "ACTIVE";
 
+    // Optimistic lock; the stock delta UPDATE bumps it too
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     public UUID getId() {
         return id;
     }
@@ -176,4 +183,12 @@ public class ItemsEntity {
     public void setRemainingQuantity(Integer remainingQuantity) {
         this.remainingQuantity = remainingQuantity;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,60 @@
+package org.wldu.webservices.enities;
+
+import jakarta.persistence.*;
+
+// Storage for the SOAP person service; (first_name, last_name) is the natural key.
+// listPersons pages in (last_name, first_name) order, hence the second index
+@Entity
+@Table(name = "persons",
+        uniqueConstraints = @UniqueConstraint(name = "uk_persons_name", columnNames = {"first_name", "last_name"}),
+        indexes = @Index(name = "idx_persons_last_first", columnList = "last_name, first_name"))
+public class PersonEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    private Integer age;
+
+    @Column(length = 10)
+    private String sex;
+
+    private String street;
+
+    private String city;
+
+    @Column(name = "zip_code", length = 20)
+    private String zipCode;
+
+    public PersonEntity() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public Integer getAge() { return age; }
+    public void setAge(Integer age) { this.age = age; }
+
+    public String getSex() { return sex; }
+    public void setSex(String sex) { this.sex = sex; }
+
+    public String getStreet() { return street; }
+    public void setStreet(String street) { this.street = street; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getZipCode() { return zipCode; }
+    public void setZipCode(String zipCode) { this.zipCode = zipCode; }
+}
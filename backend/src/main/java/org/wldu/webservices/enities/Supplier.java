@@ -1,9 +1,13 @@
 package org.wldu.webservices.enities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "suppliers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "suppliers")
+@Table(name = "suppliers", indexes = @Index(name = "idx_suppliers_name_id", columnList = "name, id"))
 public class Supplier { 
    @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,5 +3,10 @@ package org.wldu.webservices.enities;
 public enum TransactionType {
         IN,          // Stock added
         OUT,         // Stock removed
-        ADJUSTMENT   // Manual correction
+        ADJUSTMENT;  // Manual correction (signed quantity)
+
+        // Change in on-hand stock caused by a transaction of this type
+        public double signedDelta(double quantity) {
+                return this == OUT ? -quantity : quantity;
+        }
 }
@@ -1,6 +1,27 @@
 package org.wldu.webservices.enities;
 
+// Quantities compare in the base unit, millilitres. BaseQuantityInitializer writes these
+// factors into the chemicals.base_quantity column, so a new unit needs no SQL change
 public enum Unit {
-    ML,
-    L
+    ML(1),
+    L(1000);
+
+    private final double factor;
+
+    Unit(double factor) {
+        this.factor = factor;
+    }
+
+    public double toBase(double quantity) {
+        return quantity * factor;
+    }
+
+    public double fromBase(double baseQuantity) {
+        return baseQuantity / factor;
+    }
+
+    // The same amount expressed in another unit
+    public double convert(double quantity, Unit target) {
+        return target == this ? quantity : target.fromBase(toBase(quantity));
+    }
 }
@@ -0,0 +1,30 @@
+package org.wldu.webservices.events;
+
+import dto.ExpiryDTO;
+
+import java.util.List;
+
+/**
+ * Published by the expiry check for chemicals and items that expired, or came
+ * within the warning window, since the previous check.
+ */
+public class ExpiryEvent {
+
+    public enum Status { EXPIRED, EXPIRING_SOON }
+
+    private final Status status;
+    private final List<ExpiryDTO> entries;
+
+    public ExpiryEvent(Status status, List<ExpiryDTO> entries) {
+        this.status = status;
+        this.entries = entries;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<ExpiryDTO> getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,46 @@
+package org.wldu.webservices.events;
+
+/**
+ * Published by the service layer whenever inventory data is written.
+ * Listeners that need committed data use {@code @TransactionalEventListener}.
+ */
+public class InventoryChangedEvent {
+
+    public enum EntityType { TRANSACTION, CHEMICAL, EQUIPMENT, SUPPLIER }
+
+    // BATCH_CREATED: one event for a whole batch import; id is null and payload is the list of created rows
+    public enum Action { CREATED, UPDATED, DELETED, BATCH_CREATED }
+
+    private final EntityType entityType;
+    private final Action action;
+    private final Long id;
+    // Written state (entity or DTO) for creates and updates, null for deletes
+    private final Object payload;
+
+    public InventoryChangedEvent(EntityType entityType, Action action, Long id) {
+        this(entityType, action, id, null);
+    }
+
+    public InventoryChangedEvent(EntityType entityType, Action action, Long id, Object payload) {
+        this.entityType = entityType;
+        this.action = action;
+        this.id = id;
+        this.payload = payload;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,260 @@
+package org.wldu.webservices.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.wldu.webservices.services.contracts.DashboardService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed inventory changes to dashboard clients over server-sent events.
+ * Idle subscribers hold no thread: each is an async request parked in Tomcat's NIO
+ * connector. A single sender thread orders events and loads stats, then hands each
+ * event to every subscriber's own bounded queue, which at most one writer thread at
+ * a time drains. A client that stops reading only blocks its own writes, and once
+ * its queue overflows it is dropped.
+ */
+@Component
+public class InventoryEventBroadcaster implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventBroadcaster.class);
+
+    static final String EVENT_NAME = "inventory";
+    static final String EXPIRY_EVENT_NAME = "expiry";
+    static final String STATS_EVENT_NAME = "stats";
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sse-broadcast");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService writers;
+
+    // Set while a stats push is queued; changes arriving meanwhile share it
+    private final AtomicBoolean statsPending = new AtomicBoolean();
+
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+
+    public InventoryEventBroadcaster(DashboardService dashboardService,
+                                     ObjectMapper objectMapper,
+                                     @Value("${dashboard.stream.timeout-ms:0}") long timeoutMillis,
+                                     @Value("${dashboard.stream.queue-capacity:256}") int queueCapacity) {
+        this.dashboardService = dashboardService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        AtomicInteger writerCount = new AtomicInteger();
+        // One thread per subscriber being written at most; idle ones go after a minute. A client
+        // that stops reading keeps its thread until Tomcat's write timeout fails the send
+        this.writers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "sse-writer-" + writerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Initial snapshot so a fresh tab needs no extra stats request
+        Map<String, Object> hello = new LinkedHashMap<>();
+        hello.put("stats", dashboardService.getStats());
+        subscriber.offer(SseEmitter.event().name(STATS_EVENT_NAME).data(hello, MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // After commit only: clients never see rolled-back writes
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("entityType", event.getEntityType());
+        body.put("action", event.getAction());
+        body.put("id", event.getId());
+        body.put("payload", event.getPayload());
+
+        // Serialize once on the committing thread, then fan out off it
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize inventory event {} {}", event.getEntityType(), event.getId(), e);
+            return;
+        }
+        sender.execute(() -> broadcast(() -> SseEmitter.event().name(EVENT_NAME).data(json, MediaType.APPLICATION_JSON)));
+        scheduleStats();
+    }
+
+    // Fresh stats follow a change as their own event, computed on the sender thread.
+    // A burst of changes queues a single stats query, run after the burst's own events
+    private void scheduleStats() {
+        if (!statsPending.compareAndSet(false, true)) {
+            return;
+        }
+        sender.execute(() -> {
+            statsPending.set(false);
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(Map.of("stats", dashboardService.getStats()));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Could not load dashboard stats for the stream", e);
+                return;
+            }
+            broadcast(() -> SseEmitter.event().name(STATS_EVENT_NAME).data(json, MediaType.APPLICATION_JSON));
+        });
+    }
+
+    // Expired / expiring-soon notices from the daily expiry check
+    @EventListener
+    public void onExpiry(ExpiryEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", event.getStatus());
+        body.put("entries", event.getEntries());
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize expiry event {}", event.getStatus(), e);
+            return;
+        }
+        sender.execute(() -> broadcast(() -> SseEmitter.event().name(EXPIRY_EVENT_NAME).data(json, MediaType.APPLICATION_JSON)));
+    }
+
+    // Keeps proxies from closing idle streams and prunes dead clients
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            sender.execute(() -> broadcast(() -> SseEmitter.event().comment("ping")));
+        }
+    }
+
+    // Builders are single-use, so each subscriber gets its own. Only queues: never waits on a client
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event.get());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    // One client's pending events, written in order by at most one writer thread at a time
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // The client stopped reading. Completing takes the emitter's write lock, which
+                // its blocked send holds, so the writer completes it once that send returns
+                log.debug("Dropping dashboard stream subscriber {} events behind", queueCapacity);
+                dropped = true;
+                subscribers.remove(this);
+                queue.clear();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            SseEmitter.SseEventBuilder event;
+            while (!dropped && (event = queue.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    dropped = true;
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            if (dropped) {
+                // It reconnects and gets a fresh snapshot
+                emitter.complete();
+                return;
+            }
+            scheduled.set(false);
+            // An event or drop after the last poll but before the flag cleared would otherwise wait
+            if (dropped || !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
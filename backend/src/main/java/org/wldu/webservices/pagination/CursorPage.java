@@ -0,0 +1,88 @@
+package org.wldu.webservices.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scan. No total count is computed; {@code nextCursor} is null on the last page.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Queries ask for one row more than the page size so we know whether another page exists.
+     */
+    public static Pageable probe(int limit) {
+        return PageRequest.of(0, clamp(limit) + 1);
+    }
+
+    /**
+     * Reads the page after the encoded cursor, or the first page when there is none.
+     * parseKey turns the cursor's key back into the repository's key type.
+     */
+    public static <T, K> CursorPage<T> fetch(KeysetRepository<T, K> repository, String after, int limit,
+                                            Function<String, K> parseKey, Function<T, KeysetCursor> cursorOf) {
+        List<T> rows;
+        if (after == null || after.isEmpty()) {
+            rows = repository.findFirstPage(probe(limit));
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = repository.findPageAfter(cursor.getKey(parseKey), cursor.getId(), probe(limit));
+        }
+        return of(rows, limit, cursorOf);
+    }
+
+    // For scans keyed by a string column such as name
+    public static <T> CursorPage<T> fetch(KeysetRepository<T, String> repository, String after, int limit,
+                                         Function<T, KeysetCursor> cursorOf) {
+        return fetch(repository, after, limit, Function.identity(), cursorOf);
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, KeysetCursor> cursorOf) {
+        int size = clamp(limit);
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> page = fetched.subList(0, size);
+        return new CursorPage<>(page, cursorOf.apply(page.get(size - 1)).encode());
+    }
+
+    private static int clamp(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Map<String, Object> toResponse() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", items);
+        response.put("nextCursor", nextCursor);
+        response.put("hasMore", nextCursor != null);
+        response.put("pageSize", items.size());
+        return response;
+    }
+}
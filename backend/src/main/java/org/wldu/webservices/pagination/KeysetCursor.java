@@ -0,0 +1,56 @@
+package org.wldu.webservices.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a keyset page: the sort key plus the id as tie-breaker.
+ * Clients only ever see the opaque, url-safe encoded form.
+ */
+public final class KeysetCursor {
+
+    private final String key;
+    private final long id;
+
+    public KeysetCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // The key as the scan's key type; a key that does not parse is a bad cursor
+    public <K> K getKey(Function<String, K> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.wldu.webservices.pagination;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * The two queries behind a keyset scan ordered by (key, id). Each repository
+ * declares them with its own @Query; {@link CursorPage#fetch} picks which one runs.
+ */
+public interface KeysetRepository<T, K> {
+
+    List<T> findFirstPage(Pageable pageable);
+
+    // Rows strictly after (key, id) in the scan's order
+    List<T> findPageAfter(K key, long id, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package org.wldu.webservices.repositories;
+
+// Projection: what the autocomplete index keeps for a chemical, equipment or supplier
+public interface AutocompleteRow {
+
+    Long getId();
+
+    String getName();
+
+    // Formula, serial number or contact person
+    String getDetail();
+}
@@ -0,0 +1,16 @@
+package org.wldu.webservices.repositories;
+
+import org.wldu.webservices.enities.Unit;
+
+// Projection: a chemical's stock on hand and the opening balance the ledger builds on
+public interface ChemicalBalanceRow {
+
+    Long getId();
+
+    Unit getUnit();
+
+    Double getQuantity();
+
+    // In ml; null until OpeningQuantityInitializer has seeded it
+    Double getOpeningQuantity();
+}
@@ -1,20 +1,81 @@
 package org.wldu.webservices.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.enities.Unit;
+import org.wldu.webservices.pagination.KeysetRepository;
 
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
-public interface ChemicalRepository extends JpaRepository<Chemical, Long> {
+public interface ChemicalRepository extends JpaRepository<Chemical, Long>, KeysetRepository<Chemical, String> {
+
+    // Below the chemical's own reorder level, both in ml. base_quantity is generated from
+    // Unit's factors by BaseQuantityInitializer, which also builds the partial index on
+    // exactly this predicate, so queries use it verbatim and unaliased.
+    String LOW_STOCK = "base_quantity < reorder_level";
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "chemical-queries")})
     Chemical findByName(String name);
 
-    List<Chemical> findByExpiryDateBefore(LocalDate date);
+    // Loaded once into the autocomplete index
+    @Query("select c.id as id, c.name as name, c.chemicalFormula as detail from Chemical c")
+    List<AutocompleteRow> findAutocompleteRows();
+
+    // Loaded once into the expiry index
+    @Query("select cast(c.id as String) as id, c.name as name, c.expiryDate as expiryDate from Chemical c")
+    List<ExpiryRow> findExpiryRows();
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "chemical-queries")})
     List<Chemical> findByStorageLocation(String storageLocation);
 
-    List<Chemical> findByQuantityLessThan(int threshold); // Low stock
+    // Low stock, read through idx_chemicals_below_reorder
+    @Query(value = "select * from chemicals where " + LOW_STOCK + " order by name, id",
+            nativeQuery = true)
+    List<Chemical> findLowStock();
+
+    // Count only, answered from the partial index without loading rows
+    @Query(value = "select count(*) from chemicals where " + LOW_STOCK, nativeQuery = true)
+    long countLowStock();
+
+    // All dashboard counters in one round trip
+    @Query(value = "select (select count(*) from chemicals) as \"totalChemicals\", " +
+            "(select count(*) from chemicals where " + LOW_STOCK + ") as \"lowStockAlerts\", " +
+            "(select count(*) from equipment) as \"equipmentItems\", " +
+            "(select count(*) from suppliers) as \"activeSuppliers\"",
+            nativeQuery = true)
+    DashboardStats fetchDashboardStats();
+
+    // Atomic stock posting: no read-modify-write, concurrent postings simply add up.
+    // versioned bumps the version, so an edit based on the old quantity fails instead of undoing the posting.
+    // delta is in :unit; if the chemical's unit changed meanwhile, no row matches
+    @Modifying(flushAutomatically = true)
+    @Query("update versioned Chemical c set c.quantity = c.quantity + :delta " +
+            "where c.id = :id and c.unit = :unit")
+    int applyStockDelta(@Param("id") long id, @Param("unit") Unit unit, @Param("delta") double delta);
+
+    // What reconciliation compares with the ledger
+    @Query("select c.id as id, c.unit as unit, c.quantity as quantity, " +
+            "c.openingQuantity as openingQuantity from Chemical c")
+    List<ChemicalBalanceRow> findBalances();
+
+    // Keyset pagination ordered by (name, id)
+    @Query("select c from Chemical c order by c.name, c.id")
+    List<Chemical> findFirstPage(Pageable pageable);
+
+    @Query("select c from Chemical c where (c.name, c.id) > (:name, :id) order by c.name, c.id")
+    List<Chemical> findPageAfter(@Param("name") String name, @Param("id") long id, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package org.wldu.webservices.repositories;
+
+import org.wldu.webservices.enities.Unit;
+
+// Projection: a quantity total for one chemical, in one entry unit (null: the chemical's own)
+public interface ChemicalStockTotal {
+
+    Long getChemicalId();
+
+    Unit getUnit();
+
+    Double getQuantity();
+}
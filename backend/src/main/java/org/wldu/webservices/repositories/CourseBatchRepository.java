@@ -0,0 +1,17 @@
+package org.wldu.webservices.repositories;
+
+import org.wldu.webservices.enities.CourseEntity;
+
+import java.util.List;
+
+/**
+ * Set-at-a-time course writes sent as JDBC batches.
+ */
+public interface CourseBatchRepository {
+
+    // insert ... on conflict (course_code) do update; codes must be distinct
+    void batchUpsert(List<CourseEntity> courses);
+
+    // One update count per code, in input order
+    int[] batchDelete(List<String> courseCodes);
+}
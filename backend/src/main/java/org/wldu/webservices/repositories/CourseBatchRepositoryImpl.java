@@ -0,0 +1,50 @@
+package org.wldu.webservices.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.wldu.webservices.enities.CourseEntity;
+
+import java.util.List;
+
+class CourseBatchRepositoryImpl implements CourseBatchRepository {
+
+    private static final String UPSERT = "insert into courses (course_code, title, ects) values (?, ?, ?) "
+            + "on conflict (course_code) do update set title = excluded.title, ects = excluded.ects";
+    private static final String DELETE = "delete from courses where course_code = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    // Same batch size Hibernate uses for entity inserts
+    CourseBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void batchUpsert(List<CourseEntity> courses) {
+        jdbcTemplate.batchUpdate(UPSERT, courses, batchSize, (ps, course) -> {
+            ps.setString(1, course.getCourseCode());
+            ps.setString(2, course.getTitle());
+            ps.setInt(3, course.getEcts());
+        });
+    }
+
+    @Override
+    public int[] batchDelete(List<String> courseCodes) {
+        return flatten(jdbcTemplate.batchUpdate(DELETE, courseCodes, batchSize,
+                (ps, code) -> ps.setString(1, code)), courseCodes.size());
+    }
+
+    private static int[] flatten(int[][] perBatch, int size) {
+        int[] counts = new int[size];
+        int i = 0;
+        for (int[] batch : perBatch) {
+            for (int count : batch) {
+                counts[i++] = count;
+            }
+        }
+        return counts;
+    }
+}
@@ -1,10 +1,39 @@
 package org.wldu.webservices.repositories;
 
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.wldu.webservices.enities.CourseEntity;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface CourseRepository extends JpaRepository<CourseEntity, String> {
+public interface CourseRepository extends JpaRepository<CourseEntity, String>, CourseBatchRepository {
+
+    // Server-side cursor in primary-key order, starting after the given course code;
+    // must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from CourseEntity c where c.courseCode > :after order by c.courseCode")
+    Stream<CourseEntity> streamAfter(@Param("after") String after);
+
+    @Query("select c.courseCode from CourseEntity c where c.courseCode in :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    // Single round trip: the row count tells whether the course existed
+    @Modifying
+    @Query("update CourseEntity c set c.title = :title, c.ects = :ects where c.courseCode = :code")
+    int updateDetails(@Param("code") String courseCode, @Param("title") String title, @Param("ects") int ects);
+
+    @Modifying
+    @Query("delete from CourseEntity c where c.courseCode = :code")
+    int deleteByCode(@Param("code") String courseCode);
 }
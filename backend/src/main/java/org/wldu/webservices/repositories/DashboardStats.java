@@ -0,0 +1,13 @@
+package org.wldu.webservices.repositories;
+
+// Projection: dashboard counters computed by a single SQL statement
+public interface DashboardStats {
+
+    Long getTotalChemicals();
+
+    Long getEquipmentItems();
+
+    Long getLowStockAlerts();
+
+    Long getActiveSuppliers();
+}
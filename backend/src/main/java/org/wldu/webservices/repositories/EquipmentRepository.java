@@ -1,18 +1,42 @@
 package org.wldu.webservices.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.wldu.webservices.enities.Equipment;
 import org.wldu.webservices.enities.EquipmentStatus;
+import org.wldu.webservices.pagination.KeysetRepository;
 
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
-public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+public interface EquipmentRepository extends JpaRepository<Equipment, Long>, KeysetRepository<Equipment, String> {
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "equipment-queries")})
     Equipment findByName(String name);
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "equipment-queries")})
     List<Equipment> findByStatus(EquipmentStatus status);
 
+    // Keyset pagination ordered by (name, id)
+    @Query("select e from Equipment e order by e.name, e.id")
+    List<Equipment> findFirstPage(Pageable pageable);
+
+    @Query("select e from Equipment e where (e.name, e.id) > (:name, :id) order by e.name, e.id")
+    List<Equipment> findPageAfter(@Param("name") String name, @Param("id") long id, Pageable pageable);
+
+    // Loaded once into the autocomplete index
+    @Query("select e.id as id, e.name as name, e.serialNumber as detail from Equipment e")
+    List<AutocompleteRow> findAutocompleteRows();
+
 //    List<Equipment> findBySupplierId(Long supplierId);
 }
@@ -0,0 +1,13 @@
+package org.wldu.webservices.repositories;
+
+import java.time.LocalDate;
+
+// Projection: what the expiry index keeps for a chemical or an item
+public interface ExpiryRow {
+
+    String getId();
+
+    String getName();
+
+    LocalDate getExpiryDate();
+}
@@ -1,28 +1,112 @@
 package org.wldu.webservices.repositories;
 
+import dto.TransactionDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.wldu.webservices.enities.InventoryTransaction;
 import org.wldu.webservices.enities.TransactionType;
+import org.wldu.webservices.pagination.KeysetRepository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
+public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long>,
+        KeysetRepository<TransactionDTO, LocalDate> {
+
+    // Read model: foreign keys are selected straight from inventory_transactions, no joins
+    String SELECT_VIEW = "select new dto.TransactionDTO(" +
+            "t.id, t.equipment.id, t.chemical.id, t.supplier.id, " +
+            "t.quantity, t.transactionType, t.transactionDate, t.timestamp, t.notes) " +
+            "from InventoryTransaction t ";
+
+    // Summary buckets: rows are first summed per day and key (range scan on
+    // idx_inventory_transactions_date_chemical), then the few daily totals are
+    // rolled up into :unit buckets (day, week or month) with date_trunc.
+    // Quantities are signed as in TransactionType.signedDelta (OUT negative), so
+    // an unfiltered bucket is the net movement; rows without the key are left out.
+    String SUMMARY_SELECT = "select cast(date_trunc(:unit, cast(d.day as timestamp)) as date) as period, " +
+            "cast(d.k as varchar) as key, sum(d.q) as quantity, sum(d.n) as count " +
+            "from (select t.transaction_date as day, ";
+    String SUMMARY_FROM = " as k, " +
+            "sum(case when t.transaction_type = 'OUT' then -t.quantity else t.quantity end) as q, " +
+            "count(*) as n " +
+            "from inventory_transactions t " +
+            "where t.transaction_date between :from and :to " +
+            "and (cast(:type as varchar) is null or t.transaction_type = cast(:type as varchar)) " +
+            "group by 1, 2) d " +
+            "where d.k is not null " +
+            "group by 1, d.k order by 1, d.k";
+
+    // Full entities (the transactions page shows related names), loaded in one statement
+    @Override
+    @EntityGraph(attributePaths = {"equipment", "chemical", "supplier"})
+    List<InventoryTransaction> findAll();
 
     // Get all transactions for a specific equipment
-    List<InventoryTransaction> findByEquipment_Id(Long equipmentId);
+    @Query(SELECT_VIEW + "where t.equipment.id = :equipmentId")
+    List<TransactionDTO> findViewsByEquipmentId(@Param("equipmentId") Long equipmentId);
 
     // Get all transactions for a specific chemical
-    List<InventoryTransaction> findByChemical_Id(Long chemicalId);
+    @Query(SELECT_VIEW + "where t.chemical.id = :chemicalId")
+    List<TransactionDTO> findViewsByChemicalId(@Param("chemicalId") Long chemicalId);
 
-    // Get the latest 5 transactions by transaction date
-    List<InventoryTransaction> findTop5ByOrderByTransactionDateDesc();
+    // Get all transactions by type (enum)
+    @Query(SELECT_VIEW + "where t.transactionType = :type")
+    List<TransactionDTO> findViewsByTransactionType(@Param("type") TransactionType type);
+
+    // Get the latest transactions by transaction date
+    @Query(SELECT_VIEW + "order by t.transactionDate desc, t.id desc")
+    List<TransactionDTO> findRecentViews(Pageable pageable);
 
     // Get all transactions between two dates
     List<InventoryTransaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
 
-    // Get all transactions by type (enum)
-    List<InventoryTransaction> findByTransactionType(TransactionType transactionType);
+    @Query(value = SUMMARY_SELECT + "t.chemical_id" + SUMMARY_FROM, nativeQuery = true)
+    List<TransactionSummaryRow> summarizeByChemical(@Param("unit") String unit,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("type") String type);
+
+    @Query(value = SUMMARY_SELECT + "t.equipment_id" + SUMMARY_FROM, nativeQuery = true)
+    List<TransactionSummaryRow> summarizeByEquipment(@Param("unit") String unit,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to,
+                                                     @Param("type") String type);
+
+    @Query(value = SUMMARY_SELECT + "t.transaction_type" + SUMMARY_FROM, nativeQuery = true)
+    List<TransactionSummaryRow> summarizeByType(@Param("unit") String unit,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("type") String type);
+
+    // Net stock movement per chemical according to the ledger, per unit it was entered in
+    @Query("select t.chemical.id as chemicalId, t.unit as unit, " +
+            "sum(case when t.transactionType = org.wldu.webservices.enities.TransactionType.OUT " +
+            "then -t.quantity else t.quantity end) as quantity " +
+            "from InventoryTransaction t group by t.chemical.id, t.unit")
+    List<ChemicalStockTotal> sumLedgerByChemical();
+
+    // Cursor over the whole ledger, must be consumed inside a read-only transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "order by t.id")
+    Stream<TransactionDTO> streamAllViews();
+
+    // Keyset pagination, newest first, ordered by (transactionDate, id) descending
+    @Query(SELECT_VIEW + "order by t.transactionDate desc, t.id desc")
+    List<TransactionDTO> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_VIEW +
+            "where (t.transactionDate, t.id) < (:date, :id) " +
+            "order by t.transactionDate desc, t.id desc")
+    List<TransactionDTO> findPageAfter(@Param("date") LocalDate date, @Param("id") long id, Pageable pageable);
 }
@@ -2,10 +2,26 @@ package org.wldu.webservices.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.wldu.webservices.enities.ItemsEntity;
 
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ItemsRepository extends JpaRepository<ItemsEntity, UUID> , JpaSpecificationExecutor<ItemsEntity> {
+
+    // Loaded once into the expiry index
+    @Query("select cast(i.id as String) as id, i.name as name, i.expiryDate as expiryDate " +
+            "from ItemsEntity i where i.expiryDate is not null")
+    List<ExpiryRow> findExpiryRows();
+
+    // One conditional UPDATE: concurrent deltas add up and stock never goes below zero.
+    // Returns 0 when the item is missing or holds less than -delta
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned ItemsEntity i set i.remainingQuantity = i.remainingQuantity + :delta " +
+            "where i.id = :id and i.remainingQuantity + :delta >= 0")
+    int applyStockDelta(@Param("id") UUID id, @Param("delta") int delta);
 }
@@ -1,37 +1,55 @@
 package org.wldu.webservices.repositories;
 
-import com.wldu.xsdgenerated.Person;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.wldu.webservices.enities.PersonEntity;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
-public class PersonRepository {
-    private final Map<String, Person> database = new HashMap<>();
-
-    public Person create(Person person) {
-        String key = person.getFirstName() + "_" + person.getLastName();
-        database.put(key, person);
-        return person;
-    }
-
-    public Person read(String firstName, String lastName) {
-        return database.get(firstName + "_" + lastName);
-    }
-
-    public Person update(Person person) {
-        String key = person.getFirstName() + "_" + person.getLastName();
-        database.put(key, person);
-        return person;
-    }
-
-    public boolean delete(String firstName, String lastName) {
-        return database.remove(firstName + "_" + lastName) != null;
-    }
-
-    public Collection<Person> listAll() {
-        return database.values();
-    }
-}
\ No newline at end of file
+public interface PersonRepository extends JpaRepository<PersonEntity, Long> {
+
+    Optional<PersonEntity> findByFirstNameAndLastName(String firstName, String lastName);
+
+    // Single atomic statement: concurrent creates/updates of one person cannot collide.
+    // The query space keeps Hibernate from clearing every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "persons"))
+    @Query(value = "insert into persons (first_name, last_name, age, sex, street, city, zip_code) "
+            + "values (:firstName, :lastName, :age, :sex, :street, :city, :zipCode) "
+            + "on conflict (first_name, last_name) do update set "
+            + "age = excluded.age, sex = excluded.sex, street = excluded.street, "
+            + "city = excluded.city, zip_code = excluded.zip_code",
+            nativeQuery = true)
+    int upsert(@Param("firstName") String firstName,
+               @Param("lastName") String lastName,
+               @Param("age") Integer age,
+               @Param("sex") String sex,
+               @Param("street") String street,
+               @Param("city") String city,
+               @Param("zipCode") String zipCode);
+
+    @Modifying
+    @Query("delete from PersonEntity p where p.firstName = :firstName and p.lastName = :lastName")
+    int deleteByName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // Server-side cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from PersonEntity p order by p.lastName, p.firstName")
+    Stream<PersonEntity> streamAll();
+
+    // Same cursor, resuming after the given (lastName, firstName)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from PersonEntity p where (p.lastName, p.firstName) > (:lastName, :firstName) "
+            + "order by p.lastName, p.firstName")
+    Stream<PersonEntity> streamAfter(@Param("lastName") String lastName, @Param("firstName") String firstName);
+}
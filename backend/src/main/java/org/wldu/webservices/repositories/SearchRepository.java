@@ -0,0 +1,80 @@
+package org.wldu.webservices.repositories;
+
+import dto.SearchResultDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ranked typeahead over chemicals, equipment, suppliers and items in one statement.
+ * Each table contributes at most :limit name-prefix matches, read in index order,
+ * and at most :limit substring matches on the name or one detail column, read from
+ * the pg_trgm GIN indexes SearchIndexInitializer creates. Only that small candidate
+ * set is scored: prefix matches first, then by trigram similarity to the term.
+ */
+@Repository
+public class SearchRepository {
+
+    // A searched table: result type, table, and the secondary column matched next to name
+    public record Source(String type, String table, String detailColumn) {}
+
+    public static final List<Source> SOURCES = List.of(
+            new Source("CHEMICAL", "chemicals", "chemical_formula"),
+            new Source("EQUIPMENT", "equipment", "serial_number"),
+            new Source("SUPPLIER", "suppliers", "contact_person"),
+            new Source("ITEM", "items", "sales_code")
+    );
+
+    private static final String SCORED = "select type, id, name, detail, " +
+            "case when lower(name) like lower(:prefix) then 1 else 0 end " +
+            "+ greatest(similarity(name, :q), coalesce(similarity(detail, :q), 0)) as score from (";
+
+    private static final String RANKED = ") hits order by score desc, name limit :limit";
+
+    // union, not union all: a row found by both branches is scored once
+    private static final String SEARCH = SCORED +
+            SOURCES.stream().flatMap(s -> Stream.of(prefixBranch(s), containsBranch(s)))
+                    .collect(Collectors.joining(" union ")) + RANKED;
+
+    private static final String PREFIX_SEARCH = SCORED +
+            SOURCES.stream().map(SearchRepository::prefixBranch)
+                    .collect(Collectors.joining(" union all ")) + RANKED;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // prefix/contains are LIKE patterns with wildcards already escaped; a null contains searches prefixes only
+    public List<SearchResultDTO> search(String query, String prefix, String contains, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("prefix", prefix)
+                .addValue("contains", contains)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(contains == null ? PREFIX_SEARCH : SEARCH, params, (rs, i) -> new SearchResultDTO(
+                rs.getString("type"), rs.getString("id"), rs.getString("name"),
+                rs.getString("detail"), rs.getDouble("score")));
+    }
+
+    // ~<~ is the ordering of the text_pattern_ops index, so the scan stops after :limit rows
+    private static String prefixBranch(Source source) {
+        return "(" + select(source) + "where lower(name) like lower(:prefix) order by lower(name) using ~<~ limit :limit)";
+    }
+
+    // Unordered on purpose: sorting every substring match is what a broad term makes slow
+    private static String containsBranch(Source source) {
+        return "(" + select(source) + "where name ilike :contains or " + source.detailColumn() + " ilike :contains " +
+                "limit :limit)";
+    }
+
+    private static String select(Source source) {
+        return "select '" + source.type() + "' as type, cast(id as varchar) as id, name, " +
+                source.detailColumn() + " as detail from " + source.table() + " ";
+    }
+}
@@ -1,17 +1,39 @@
 package org.wldu.webservices.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.wldu.webservices.enities.Supplier;
+import org.wldu.webservices.pagination.KeysetRepository;
 
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends JpaRepository<Supplier, Long>, KeysetRepository<Supplier, String> {
 
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "supplier-queries")})
     Supplier findByName(String name);
 
     List<Supplier> findByContactPerson(String contactPerson);
 
     Supplier findByEmail(String email);
+
+    // Keyset pagination ordered by (name, id)
+    @Query("select s from Supplier s order by s.name, s.id")
+    List<Supplier> findFirstPage(Pageable pageable);
+
+    @Query("select s from Supplier s where (s.name, s.id) > (:name, :id) order by s.name, s.id")
+    List<Supplier> findPageAfter(@Param("name") String name, @Param("id") long id, Pageable pageable);
+
+    // Loaded once into the autocomplete index
+    @Query("select s.id as id, s.name as name, s.contactPerson as detail from Supplier s")
+    List<AutocompleteRow> findAutocompleteRows();
 }
@@ -0,0 +1,15 @@
+package org.wldu.webservices.repositories;
+
+import java.time.LocalDate;
+
+// Projection: one time bucket of the transaction summary for one chemical, equipment or type
+public interface TransactionSummaryRow {
+
+    LocalDate getPeriod();
+
+    String getKey();
+
+    Double getQuantity();
+
+    Long getCount();
+}
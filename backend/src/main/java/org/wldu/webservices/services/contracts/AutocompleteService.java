@@ -0,0 +1,18 @@
+package org.wldu.webservices.services.contracts;
+
+import dto.AutocompleteDTO;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    enum Type { CHEMICAL, EQUIPMENT, SUPPLIER }
+
+    // Adds or replaces the entry for id
+    void track(Type type, Long id, String name, String detail);
+
+    void untrack(Type type, Long id);
+
+    // Entries whose name, a word of the name, or detail starts with prefix (case-insensitive), in term order
+    List<AutocompleteDTO> complete(Type type, String prefix, int limit);
+}
@@ -0,0 +1,11 @@
+package org.wldu.webservices.services.contracts;
+
+import java.util.Map;
+
+public interface CacheStatsService {
+
+    // Hits, misses and puts per second-level/query cache region, plus totals
+    Map<String, Map<String, Long>> getRegionStats();
+
+    void evictAll();
+}
@@ -1,8 +1,8 @@
 package org.wldu.webservices.services.contracts;
 
 import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.pagination.CursorPage;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +12,12 @@ public interface ChemicalService {
 
     List<Chemical> getAllChemicals();
 
+    CursorPage<Chemical> getChemicalPage(String after, int limit);
+
     Optional<Chemical> getChemicalById(Long id);
 
     Chemical getChemicalByName(String name);
 
-    List<Chemical> getExpiredChemicals(LocalDate date);
-
     List<Chemical> getChemicalsByStorageLocation(String location);
 
     void deleteChemical(Long id);
@@ -26,7 +26,8 @@ public interface ChemicalService {
 
     long countAll();
 
-    long countLowStock(int threshold);
+    // Chemicals whose quantity, in ml, is below their own reorder level
+    long countLowStock();
 
-    List<Chemical> findLowStock(int threshold);
+    List<Chemical> findLowStock();
 }
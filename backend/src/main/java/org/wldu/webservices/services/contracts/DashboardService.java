@@ -0,0 +1,15 @@
+package org.wldu.webservices.services.contracts;
+
+import org.wldu.webservices.enities.Chemical;
+
+import java.util.List;
+import java.util.Map;
+
+public interface DashboardService {
+
+    Map<String, Long> getStats();
+
+    List<Chemical> getLowStock();
+
+    void invalidateStats();
+}
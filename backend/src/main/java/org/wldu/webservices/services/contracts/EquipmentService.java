@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.wldu.webservices.enities.Equipment;
 import org.wldu.webservices.enities.EquipmentStatus;
+import org.wldu.webservices.pagination.CursorPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +15,8 @@ public interface EquipmentService {
 
     List<Equipment> getAllEquipment();
 
+    CursorPage<Equipment> getEquipmentPage(String after, int limit);
+
     Optional<Equipment> getEquipmentById(Long id);
 
     Equipment getEquipmentByName(String name);
@@ -0,0 +1,26 @@
+package org.wldu.webservices.services.contracts;
+
+import dto.ExpiryDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExpiryService {
+
+    enum Kind { CHEMICAL, ITEM }
+
+    // Adds or moves an entry; a null expiry date removes it. A date the last check already
+    // passed over is published here as EXPIRED or EXPIRING_SOON, since the check will not reach it
+    void track(Kind kind, String id, String name, LocalDate expiryDate);
+
+    void untrack(Kind kind, String id);
+
+    // Expiry date before today, oldest first
+    List<ExpiryDTO> getExpired(Kind kind);
+
+    // Not yet expired and expiring within the next days, soonest first
+    List<ExpiryDTO> getExpiring(Kind kind, int days);
+
+    // Publishes ExpiryEvents for what expired or came into the warning window since the last check
+    void checkExpiries();
+}
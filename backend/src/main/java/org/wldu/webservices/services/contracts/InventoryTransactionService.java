@@ -1,29 +1,51 @@
 package org.wldu.webservices.services.contracts;
 
+import dto.BatchRowResultDTO;
+import dto.TransactionDTO;
+import dto.TransactionSummaryDTO;
 import org.wldu.webservices.enities.InventoryTransaction;
+import org.wldu.webservices.pagination.CursorPage;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface InventoryTransactionService {
 
     InventoryTransaction saveTransaction(InventoryTransaction transaction);
 
+    InventoryTransaction updateTransaction(Long id, InventoryTransaction transaction);
+
+    // Inserts the valid rows in JDBC batches; returns one result per input row, in order
+    List<BatchRowResultDTO> saveTransactions(List<InventoryTransaction> transactions);
+
     List<InventoryTransaction> getAllTransactions();
 
+    CursorPage<TransactionDTO> getTransactionPage(String after, int limit);
+
+    // Walks the ledger with a database cursor, handing each row to the consumer
+    void streamAllTransactions(Consumer<TransactionDTO> consumer);
+
     Optional<InventoryTransaction> getTransactionById(Long id);
 
-    List<InventoryTransaction> getTransactionsByEquipment(Long equipmentId);
+    List<TransactionDTO> getTransactionsByEquipment(Long equipmentId);
+
+    List<TransactionDTO> getTransactionsByChemical(Long chemicalId);
 
-    List<InventoryTransaction> getTransactionsByChemical(Long chemicalId);
+    List<TransactionDTO> getTransactionsByType(String transactionType);
 
-    List<InventoryTransaction> getTransactionsByType(String transactionType);
+    List<TransactionDTO> getRecentTransactions(int limit);
 
     List<InventoryTransaction> getTransactionsByDateRange(
             LocalDateTime startDate,
             LocalDateTime endDate
     );
 
+    // Quantity per period (day, week or month) and per chemical, equipment or type, aggregated in the database
+    List<TransactionSummaryDTO> summarizeTransactions(LocalDate from, LocalDate to,
+                                                      String groupBy, String by, String type);
+
     void deleteTransaction(Long id);
 }
@@ -11,6 +11,10 @@ public interface ItemService {
     ItemsEntity getItemsById(UUID id);
 
     ItemsEntity updateItems(UUID id, ItemDTO request);
+
+    // Adds delta to the remaining quantity in one conditional UPDATE; never below zero
+    ItemsEntity adjustStock(UUID id, int delta);
+
     void deleteItems(UUID id);
     public Page<ItemsEntity> getItems(String search, int page, int size, String sortBy, String sortDir);
 
@@ -0,0 +1,11 @@
+package org.wldu.webservices.services.contracts;
+
+import dto.SearchResultDTO;
+
+import java.util.List;
+
+public interface SearchService {
+
+    // Best matches first across chemicals, equipment, suppliers and items
+    List<SearchResultDTO> search(String query, int limit);
+}
@@ -0,0 +1,22 @@
+package org.wldu.webservices.services.contracts;
+
+import dto.StockDriftDTO;
+import org.wldu.webservices.enities.InventoryTransaction;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockLedgerService {
+
+    // Apply the transaction's delta, converted to the chemical's unit, to its on-hand quantity
+    void post(InventoryTransaction transaction);
+
+    // Post many transactions with one UPDATE per distinct chemical
+    void postAll(Collection<InventoryTransaction> transactions);
+
+    // Undo a previously posted transaction
+    void reverse(InventoryTransaction transaction);
+
+    // Chemicals whose on-hand quantity is not their opening balance plus the ledger
+    List<StockDriftDTO> reconcile();
+}
@@ -1,6 +1,7 @@
 package org.wldu.webservices.services.contracts;
 
 import org.wldu.webservices.enities.Supplier;
+import org.wldu.webservices.pagination.CursorPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +12,8 @@ public interface SupplierService {
 
     List<Supplier> getAllSuppliers();
 
+    CursorPage<Supplier> getSupplierPage(String after, int limit);
+
     Optional<Supplier> getSupplierById(Long id);
 
     Supplier getSupplierByName(String name);
@@ -0,0 +1,154 @@
+package org.wldu.webservices.services.imp;
+
+import dto.AutocompleteDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.repositories.AutocompleteRow;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.EquipmentRepository;
+import org.wldu.webservices.repositories.SupplierRepository;
+import org.wldu.webservices.services.contracts.AutocompleteService;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Names, chemical formulas, serial numbers and contact persons held in memory,
+ * one sorted index per type, so a picker gets its suggestions without
+ * downloading the whole list. A prefix lookup is a range read on a TreeMap.
+ * Loaded once at startup and kept current by the chemical, equipment and
+ * supplier services.
+ */
+@Service
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteServiceImpl.class);
+
+    private static final int MAX_LIMIT = 50;
+
+    private final ChemicalRepository chemicalRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final SupplierRepository supplierRepository;
+
+    private final Map<Type, Index> indexes = new EnumMap<>(Type.class);
+
+    public AutocompleteServiceImpl(ChemicalRepository chemicalRepository,
+                                   EquipmentRepository equipmentRepository,
+                                   SupplierRepository supplierRepository) {
+        this.chemicalRepository = chemicalRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.supplierRepository = supplierRepository;
+        for (Type type : Type.values()) {
+            indexes.put(type, new Index());
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        load(Type.CHEMICAL, chemicalRepository.findAutocompleteRows());
+        load(Type.EQUIPMENT, equipmentRepository.findAutocompleteRows());
+        load(Type.SUPPLIER, supplierRepository.findAutocompleteRows());
+    }
+
+    @Override
+    public void track(Type type, Long id, String name, String detail) {
+        indexes.get(type).put(new Entry(id, name, detail));
+    }
+
+    @Override
+    public void untrack(Type type, Long id) {
+        indexes.get(type).remove(id);
+    }
+
+    @Override
+    public List<AutocompleteDTO> complete(Type type, String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        String term = prefix == null ? "" : normalize(prefix.strip());
+        List<AutocompleteDTO> result = new ArrayList<>();
+        for (Entry entry : indexes.get(type).find(term, limit)) {
+            result.add(new AutocompleteDTO(entry.id(), entry.name(), entry.detail()));
+        }
+        return result;
+    }
+
+    private void load(Type type, List<AutocompleteRow> rows) {
+        Index index = indexes.get(type);
+        rows.forEach(row -> index.put(new Entry(row.getId(), row.getName(), row.getDetail())));
+        log.info("Autocomplete index loaded: {} {}(s)", rows.size(), type.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    // The terms an entry is found by: the name from each word on ("sodium chloride", "chloride") and the detail
+    private static List<String> terms(Entry entry) {
+        List<String> terms = new ArrayList<>();
+        if (entry.name() != null) {
+            String name = normalize(entry.name());
+            for (int i = 0; i < name.length(); i++) {
+                if (Character.isLetterOrDigit(name.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(name.charAt(i - 1)))) {
+                    terms.add(name.substring(i));
+                }
+            }
+        }
+        if (entry.detail() != null && !entry.detail().isBlank()) {
+            terms.add(normalize(entry.detail()));
+        }
+        return terms;
+    }
+
+    private record Entry(Long id, String name, String detail) {}
+
+    // Sorted term index for one type; each key is term + '\0' + id, so equal terms stay distinct
+    private static final class Index {
+
+        // Guarded by this
+        private final NavigableMap<String, Entry> byTerm = new TreeMap<>();
+        private final Map<Long, List<String>> keysById = new HashMap<>();
+
+        synchronized void put(Entry entry) {
+            remove(entry.id());
+            List<String> keys = new ArrayList<>();
+            for (String term : terms(entry)) {
+                String key = term + '\0' + entry.id();
+                byTerm.put(key, entry);
+                keys.add(key);
+            }
+            keysById.put(entry.id(), keys);
+        }
+
+        synchronized void remove(Long id) {
+            List<String> keys = keysById.remove(id);
+            if (keys != null) {
+                keys.forEach(byTerm::remove);
+            }
+        }
+
+        // Walks the terms from prefix on until limit distinct entries are found or a term no longer matches
+        synchronized List<Entry> find(String prefix, int limit) {
+            Map<Long, Entry> found = new LinkedHashMap<>();
+            for (Map.Entry<String, Entry> e : byTerm.tailMap(prefix, true).entrySet()) {
+                if (!e.getKey().startsWith(prefix) || found.size() == limit) {
+                    break;
+                }
+                found.putIfAbsent(e.getValue().id(), e.getValue());
+            }
+            return new ArrayList<>(found.values());
+        }
+    }
+}
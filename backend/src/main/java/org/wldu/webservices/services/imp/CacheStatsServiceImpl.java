@@ -0,0 +1,53 @@
+package org.wldu.webservices.services.imp;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.wldu.webservices.services.contracts.CacheStatsService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> getRegionStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Map<String, Long>> regions = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, counters(stats.getHitCount(), stats.getMissCount(), stats.getPutCount()));
+            }
+        }
+        regions.put("query-cache (total)", counters(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        regions.put("second-level (total)", counters(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        return regions;
+    }
+
+    private static Map<String, Long> counters(long hits, long misses, long puts) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        return counters;
+    }
+
+    // For rows changed behind Hibernate's back, e.g. by hand in the database
+    @Override
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
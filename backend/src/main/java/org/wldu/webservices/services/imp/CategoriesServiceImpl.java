@@ -28,7 +28,6 @@ public class CategoriesServiceImpl implements CategoryService {
             return categoriesRepository.findAll((root, query, criteriaBuilder) ->
                     criteriaBuilder.or(
                             criteriaBuilder.like(root.get("catName"), "%" + search + "%"),
-                            criteriaBuilder.like(root.get("catType"), "%" + search + "%"),
                             criteriaBuilder.like(root.get("description"), "%" + search + "%")
                     ), pageable);
         } else {
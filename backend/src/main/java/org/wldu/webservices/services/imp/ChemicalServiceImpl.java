@@ -1,12 +1,20 @@
 package org.wldu.webservices.services.imp;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.config.OptimisticRetry;
 import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.events.InventoryChangedEvent;
+import org.wldu.webservices.pagination.CursorPage;
+import org.wldu.webservices.pagination.KeysetCursor;
 import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.services.contracts.AutocompleteService;
 import org.wldu.webservices.services.contracts.ChemicalService;
+import org.wldu.webservices.services.contracts.ExpiryService;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +24,24 @@ public class ChemicalServiceImpl implements ChemicalService {
     @Autowired
     private ChemicalRepository chemicalRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ExpiryService expiryService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
     @Override
     public Chemical saveChemical(Chemical chemical) {
-        return chemicalRepository.save(chemical);
+        Chemical saved = chemicalRepository.save(chemical);
+        track(saved);
+        publish(InventoryChangedEvent.Action.CREATED, saved.getId(), saved);
+        return saved;
     }
 
     @Override
@@ -26,6 +49,11 @@ public class ChemicalServiceImpl implements ChemicalService {
         return chemicalRepository.findAll();
     }
 
+    @Override
+    public CursorPage<Chemical> getChemicalPage(String after, int limit) {
+        return CursorPage.fetch(chemicalRepository, after, limit, c -> new KeysetCursor(c.getName(), c.getId()));
+    }
+
     @Override
     public Optional<Chemical> getChemicalById(Long id) {
         return chemicalRepository.findById(id);
@@ -36,11 +64,6 @@ public class ChemicalServiceImpl implements ChemicalService {
         return chemicalRepository.findByName(name);
     }
 
-    @Override
-    public List<Chemical> getExpiredChemicals(LocalDate date) {
-        return chemicalRepository.findByExpiryDateBefore(date);
-    }
-
     @Override
     public List<Chemical> getChemicalsByStorageLocation(String location) {
         return chemicalRepository.findByStorageLocation(location);
@@ -49,21 +72,43 @@ public class ChemicalServiceImpl implements ChemicalService {
     @Override
     public void deleteChemical(Long id) {
         chemicalRepository.deleteById(id);
+        expiryService.untrack(ExpiryService.Kind.CHEMICAL, String.valueOf(id));
+        autocompleteService.untrack(AutocompleteService.Type.CHEMICAL, id);
+        publish(InventoryChangedEvent.Action.DELETED, id, null);
     }
 
     @Override
     public Chemical updateChemical(Long id, Chemical chemical) {
+        return optimisticRetry.run(() -> applyUpdate(id, chemical));
+    }
+
+    private Chemical applyUpdate(Long id, Chemical chemical) {
         Chemical existing = chemicalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Chemical not found"));
+        // A version from the client means "based on what I read"; a stale one is not retried
+        if (chemical.getVersion() != null && !chemical.getVersion().equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Chemical was changed since it was read");
+        }
 
         existing.setName(chemical.getName());
         existing.setChemicalFormula(chemical.getChemicalFormula());
-        existing.setQuantity(chemical.getQuantity());
+        // Stock only moves through the ledger (an ADJUSTMENT corrects it), so quantity in the
+        // request is ignored; a unit change re-expresses the same amount in the new unit
+        if (chemical.getUnit() != null && existing.getUnit() != null && chemical.getUnit() != existing.getUnit()) {
+            existing.setQuantity(existing.getUnit().convert(existing.getQuantity(), chemical.getUnit()));
+        }
         existing.setUnit(chemical.getUnit());
         existing.setExpiryDate(chemical.getExpiryDate());
         existing.setStorageLocation(chemical.getStorageLocation());
-
-        return chemicalRepository.save(existing);
+        // Omitted from the request → keep the current level
+        if (chemical.getReorderLevel() != null) {
+            existing.setReorderLevel(chemical.getReorderLevel());
+        }
+
+        Chemical saved = chemicalRepository.save(existing);
+        track(saved);
+        publish(InventoryChangedEvent.Action.UPDATED, id, saved);
+        return saved;
     }
 
     @Override
@@ -72,12 +117,24 @@ public class ChemicalServiceImpl implements ChemicalService {
     }
 
     @Override
-    public long countLowStock(int threshold) {
-        return chemicalRepository.findByQuantityLessThan(threshold).size();
+    public long countLowStock() {
+        return chemicalRepository.countLowStock();
     }
 
     @Override
-    public List<Chemical> findLowStock(int threshold) {
-        return chemicalRepository.findByQuantityLessThan(threshold);
+    public List<Chemical> findLowStock() {
+        return chemicalRepository.findLowStock();
+    }
+
+    private void track(Chemical chemical) {
+        expiryService.track(ExpiryService.Kind.CHEMICAL, String.valueOf(chemical.getId()),
+                chemical.getName(), chemical.getExpiryDate());
+        autocompleteService.track(AutocompleteService.Type.CHEMICAL, chemical.getId(),
+                chemical.getName(), chemical.getChemicalFormula());
+    }
+
+    private void publish(InventoryChangedEvent.Action action, Long id, Object payload) {
+        eventPublisher.publishEvent(
+                new InventoryChangedEvent(InventoryChangedEvent.EntityType.CHEMICAL, action, id, payload));
     }
 }
@@ -3,13 +3,26 @@ package org.wldu.webservices.services.imp;
 import org.springframework.stereotype.Service;
 
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.wldu.webservices.enities.CourseEntity;
 import org.wldu.webservices.repositories.CourseRepository;
 
 import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CourseService {
@@ -17,6 +30,15 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${soap.courses.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${soap.courses.max-page-size:2000}")
+    private int maxPageSize;
+
     public String createCourse(CourseEntity course) {
         courseRepository.save(course);
         return "Course Created Successfully";
@@ -31,19 +53,116 @@ public class CourseService {
         return courseRepository.findAll();
     }
 
+    /**
+     * Feeds courses ordered by course code to the consumer straight off a database
+     * cursor, starting after the given code. Without a page size every remaining
+     * course is sent; a requested size is capped at soap.courses.max-page-size.
+     * The code to resume from is returned when more remain, otherwise null.
+     */
+    @Transactional(readOnly = true)
+    public String forEachCourse(String after, Integer pageSize, Consumer<CourseEntity> consumer) {
+        int limit = pageSize == null || pageSize <= 0 ? Integer.MAX_VALUE : Math.min(pageSize, maxPageSize);
+        try (Stream<CourseEntity> courses = courseRepository.streamAfter(after == null ? "" : after)) {
+            Iterator<CourseEntity> it = courses.iterator();
+            String last = null;
+            int sent = 0;
+            while (it.hasNext()) {
+                if (sent == limit) {
+                    return last;
+                }
+                CourseEntity course = it.next();
+                consumer.accept(course);
+                // Keep the persistence context from growing with the catalog
+                entityManager.detach(course);
+                last = course.getCourseCode();
+                sent++;
+            }
+            return null;
+        }
+    }
+
+    // Page size for a response held in memory until it is sent, e.g. a SAAJ DOM on /ws
+    public int bufferedPageSize(Integer requested) {
+        return requested == null || requested <= 0 ? defaultPageSize : Math.min(requested, maxPageSize);
+    }
+
+    @Transactional
     public String updateCourse(CourseEntity course) {
-        if(courseRepository.existsById(course.getCourseCode())) {
-            courseRepository.save(course);
-            return "Course Updated Successfully";
+        // The bulk update skips Bean Validation, so check the entity constraints here
+        String invalid = validate(course);
+        if (invalid != null) {
+            return invalid;
         }
-        return "Course Not Found";
+        int updated = courseRepository.updateDetails(course.getCourseCode(), course.getTitle(), course.getEcts());
+        return updated > 0 ? "Course Updated Successfully" : "Course Not Found";
     }
 
+    @Transactional
     public String deleteCourse(String courseCode) {
-        if(courseRepository.existsById(courseCode)) {
-            courseRepository.deleteById(courseCode);
-            return "Course Deleted Successfully";
+        return courseRepository.deleteByCode(courseCode) > 0 ? "Course Deleted Successfully" : "Course Not Found";
+    }
+
+    /**
+     * Creates or updates every valid course in one transaction: one query for the
+     * codes that already exist, then the upserts as JDBC batches. Returns one
+     * status per input course, in order; invalid courses are skipped.
+     */
+    @Transactional
+    public List<String> upsertCourses(List<CourseEntity> courses) {
+        String[] statuses = new String[courses.size()];
+        // The driver folds batched inserts into one multi-row insert, which may not
+        // touch a row twice: a repeated code keeps only its last values
+        Map<String, CourseEntity> valid = new LinkedHashMap<>();
+        for (int i = 0; i < courses.size(); i++) {
+            CourseEntity course = courses.get(i);
+            statuses[i] = validate(course);
+            if (statuses[i] == null) {
+                valid.put(course.getCourseCode(), course);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Arrays.asList(statuses);
+        }
+
+        // A code repeated within the batch counts as existing after its first row
+        Set<String> existing = new HashSet<>(courseRepository.findExistingCodes(valid.keySet()));
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] == null) {
+                statuses[i] = existing.add(courses.get(i).getCourseCode())
+                        ? "Course Created Successfully"
+                        : "Course Updated Successfully";
+            }
+        }
+        courseRepository.batchUpsert(new ArrayList<>(valid.values()));
+        return Arrays.asList(statuses);
+    }
+
+    // Deletes in one transaction, sent as JDBC batches; one status per input code, in order
+    @Transactional
+    public List<String> deleteCourses(List<String> courseCodes) {
+        int[] deleted = courseRepository.batchDelete(courseCodes);
+        List<String> statuses = new ArrayList<>(deleted.length);
+        for (int count : deleted) {
+            statuses.add(count > 0 ? "Course Deleted Successfully" : "Course Not Found");
+        }
+        return statuses;
+    }
+
+    // Mirrors the CourseEntity constraints, which plain JDBC writes would bypass
+    private static String validate(CourseEntity course) {
+        String code = course.getCourseCode();
+        if (code == null || code.isBlank()) {
+            return "Invalid Course: course code is required";
+        }
+        if (code.length() > 10) {
+            return "Invalid Course: course code is longer than 10 characters";
+        }
+        if (course.getTitle() == null || course.getTitle().isBlank()) {
+            return "Invalid Course: title is required";
+        }
+        if (course.getEcts() < 1) {
+            return "Invalid Course: ECTS must be >= 1";
         }
-        return "Course Not Found";
+        return null;
     }
 }
@@ -0,0 +1,98 @@
+package org.wldu.webservices.services.imp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.events.InventoryChangedEvent;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.DashboardStats;
+import org.wldu.webservices.services.contracts.DashboardService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final ChemicalRepository chemicalRepository;
+    private final long ttlMillis;
+
+    // Stats shared by every polling tab; dropped after the TTL or on any inventory write
+    private final AtomicReference<CachedStats> cache = new AtomicReference<>();
+
+    // Bumped on every invalidation. A load stamped with an older value may have read
+    // the database before the write committed, so its result is never served from the cache.
+    private final AtomicLong generation = new AtomicLong();
+
+    public DashboardServiceImpl(ChemicalRepository chemicalRepository,
+                                @Value("${dashboard.stats.ttl-ms:5000}") long ttlMillis) {
+        this.chemicalRepository = chemicalRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Map<String, Long> getStats() {
+        long current = generation.get();
+        CachedStats cached = cache.get();
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.generation == current && cached.expiresAt > now) {
+            return cached.stats;
+        }
+        Map<String, Long> stats = load();
+        CachedStats loaded = new CachedStats(stats, now + ttlMillis, current);
+        // A slower load that started earlier must not replace a newer entry
+        cache.accumulateAndGet(loaded, (old, next) ->
+                old != null && old.generation > next.generation ? old : next);
+        return stats;
+    }
+
+    private Map<String, Long> load() {
+        DashboardStats row = chemicalRepository.fetchDashboardStats();
+        return Map.of(
+                "totalChemicals", safe(row.getTotalChemicals()),
+                "equipmentItems", safe(row.getEquipmentItems()),
+                "lowStockAlerts", safe(row.getLowStockAlerts()),
+                "activeSuppliers", safe(row.getActiveSuppliers())
+        );
+    }
+
+    private long safe(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    @Override
+    public List<Chemical> getLowStock() {
+        // Each chemical against its own reorder level, in ml
+        return chemicalRepository.findLowStock();
+    }
+
+    @Override
+    public void invalidateStats() {
+        generation.incrementAndGet();
+        cache.set(null);
+    }
+
+    // Runs before the push channel so it broadcasts fresh numbers
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidateStats();
+    }
+
+    private static final class CachedStats {
+        private final Map<String, Long> stats;
+        private final long expiresAt;
+        private final long generation;
+
+        private CachedStats(Map<String, Long> stats, long expiresAt, long generation) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package org.wldu.webservices.services.imp;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.config.OptimisticRetry;
 import org.wldu.webservices.enities.Equipment;
 import org.wldu.webservices.enities.EquipmentStatus;
+import org.wldu.webservices.events.InventoryChangedEvent;
+import org.wldu.webservices.pagination.CursorPage;
+import org.wldu.webservices.pagination.KeysetCursor;
 import org.wldu.webservices.repositories.EquipmentRepository;
+import org.wldu.webservices.services.contracts.AutocompleteService;
 import org.wldu.webservices.services.contracts.EquipmentService;
 
 import org.springframework.data.domain.Pageable;
@@ -19,9 +27,21 @@ public class EquipmentServiceImpl implements EquipmentService {
     @Autowired
     private EquipmentRepository equipmentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
     @Override
     public Equipment saveEquipment(Equipment equipment) {
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        track(saved);
+        publish(InventoryChangedEvent.Action.CREATED, saved.getId(), saved);
+        return saved;
     }
 
     @Override
@@ -29,6 +49,11 @@ public class EquipmentServiceImpl implements EquipmentService {
         return equipmentRepository.findAll();
     }
 
+    @Override
+    public CursorPage<Equipment> getEquipmentPage(String after, int limit) {
+        return CursorPage.fetch(equipmentRepository, after, limit, e -> new KeysetCursor(e.getName(), e.getId()));
+    }
+
     @Override
     public Optional<Equipment> getEquipmentById(Long id) {
         return equipmentRepository.findById(id);
@@ -46,9 +71,17 @@ public class EquipmentServiceImpl implements EquipmentService {
 
     @Override
     public Equipment updateEquipment(Long id, Equipment equipmentDetails) {
+        return optimisticRetry.run(() -> applyUpdate(id, equipmentDetails));
+    }
+
+    private Equipment applyUpdate(Long id, Equipment equipmentDetails) {
         // Unwrap Optional
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipment not found with id: " + id));
+        // A version from the client means "based on what I read"; a stale one is not retried
+        if (equipmentDetails.getVersion() != null && !equipmentDetails.getVersion().equals(equipment.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Equipment was changed since it was read");
+        }
 
         // Update fields
         equipment.setName(equipmentDetails.getName());
@@ -58,7 +91,10 @@ public class EquipmentServiceImpl implements EquipmentService {
         equipment.setQuantity(equipmentDetails.getQuantity());
 
         // Save and return updated equipment
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        track(saved);
+        publish(InventoryChangedEvent.Action.UPDATED, id, saved);
+        return saved;
     }
 
 //    @Override
@@ -69,10 +105,22 @@ public class EquipmentServiceImpl implements EquipmentService {
     @Override
     public void deleteEquipment(Long id) {
         equipmentRepository.deleteById(id);
+        autocompleteService.untrack(AutocompleteService.Type.EQUIPMENT, id);
+        publish(InventoryChangedEvent.Action.DELETED, id, null);
     }
 
     @Override
     public long countAll() {
         return equipmentRepository.count();
     }
+
+    private void track(Equipment equipment) {
+        autocompleteService.track(AutocompleteService.Type.EQUIPMENT, equipment.getId(),
+                equipment.getName(), equipment.getSerialNumber());
+    }
+
+    private void publish(InventoryChangedEvent.Action action, Long id, Object payload) {
+        eventPublisher.publishEvent(
+                new InventoryChangedEvent(InventoryChangedEvent.EntityType.EQUIPMENT, action, id, payload));
+    }
 }
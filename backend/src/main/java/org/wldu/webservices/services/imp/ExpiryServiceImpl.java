@@ -0,0 +1,219 @@
+package org.wldu.webservices.services.imp;
+
+import dto.ExpiryDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.wldu.webservices.events.ExpiryEvent;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.ExpiryRow;
+import org.wldu.webservices.repositories.ItemsRepository;
+import org.wldu.webservices.services.contracts.ExpiryService;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Every tracked expiry date, held in memory and bucketed by day, so the expired
+ * and expiring lists are range reads instead of table scans. Expiry dates have
+ * day resolution, which makes a sorted map of day buckets all the timing wheel
+ * this needs: the daily check advances over the buckets it passed.
+ * Loaded once at startup and kept current by the chemical and item services;
+ * a date saved into a range the check already passed over is reported by track().
+ */
+@Service
+public class ExpiryServiceImpl implements ExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiryServiceImpl.class);
+
+    private final ChemicalRepository chemicalRepository;
+    private final ItemsRepository itemsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int warnDays;
+
+    // Guarded by this
+    private final NavigableMap<LocalDate, Map<Key, Entry>> byDate = new TreeMap<>();
+    private final Map<Key, Entry> byKey = new HashMap<>();
+    private LocalDate lastChecked;
+
+    public ExpiryServiceImpl(ChemicalRepository chemicalRepository,
+                             ItemsRepository itemsRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${inventory.expiry.warn-days:30}") int warnDays) {
+        this.chemicalRepository = chemicalRepository;
+        this.itemsRepository = itemsRepository;
+        this.eventPublisher = eventPublisher;
+        this.warnDays = warnDays;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<ExpiryRow> chemicals = chemicalRepository.findExpiryRows();
+        List<ExpiryRow> items = itemsRepository.findExpiryRows();
+        synchronized (this) {
+            chemicals.forEach(row -> put(Kind.CHEMICAL, row));
+            items.forEach(row -> put(Kind.ITEM, row));
+        }
+        log.info("Expiry index loaded: {} chemical(s), {} item(s)", chemicals.size(), items.size());
+    }
+
+    @Override
+    public void track(Kind kind, String id, String name, LocalDate expiryDate) {
+        ExpiryEvent.Status status;
+        ExpiryDTO dto;
+        synchronized (this) {
+            Key key = new Key(kind, id);
+            Entry old = remove(key);
+            if (expiryDate == null) {
+                return;
+            }
+            Entry entry = new Entry(key, name, expiryDate);
+            add(entry);
+            // The next check only looks past lastChecked, so an already-passed date is reported now or never
+            status = checkedStatus(expiryDate);
+            if (status == null || (old != null && checkedStatus(old.expiryDate()) == status)) {
+                return;
+            }
+            dto = toDto(entry, LocalDate.now());
+        }
+        publish(status, List.of(dto));
+    }
+
+    @Override
+    public synchronized void untrack(Kind kind, String id) {
+        remove(new Key(kind, id));
+    }
+
+    @Override
+    public List<ExpiryDTO> getExpired(Kind kind) {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            return toDtos(byDate.headMap(today, false).values(), kind, today);
+        }
+    }
+
+    @Override
+    public List<ExpiryDTO> getExpiring(Kind kind, int days) {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            return toDtos(byDate.subMap(today, true, today.plusDays(days), true).values(), kind, today);
+        }
+    }
+
+    // Also runs once the application is up, so a restart reports what is already expired
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${inventory.expiry.check-cron:0 0 0 * * *}")
+    public void checkExpiries() {
+        checkExpiries(LocalDate.now());
+    }
+
+    void checkExpiries(LocalDate today) {
+        List<ExpiryDTO> expired;
+        List<ExpiryDTO> expiring;
+        synchronized (this) {
+            if (today.equals(lastChecked)) {
+                return;
+            }
+            // First check: everything already expired or inside the window
+            NavigableMap<LocalDate, Map<Key, Entry>> newlyExpired = lastChecked == null
+                    ? byDate.headMap(today, false)
+                    : byDate.subMap(lastChecked, true, today, false);
+            // The window was [lastChecked, lastChecked + warnDays]; only its new tail is reported
+            LocalDate windowStart = today;
+            boolean startInclusive = true;
+            if (lastChecked != null && !lastChecked.plusDays(warnDays).isBefore(today)) {
+                windowStart = lastChecked.plusDays(warnDays);
+                startInclusive = false;
+            }
+            NavigableMap<LocalDate, Map<Key, Entry>> newlyExpiring =
+                    byDate.subMap(windowStart, startInclusive, today.plusDays(warnDays), true);
+            expired = toDtos(newlyExpired.values(), null, today);
+            expiring = toDtos(newlyExpiring.values(), null, today);
+            lastChecked = today;
+        }
+
+        publish(ExpiryEvent.Status.EXPIRED, expired);
+        publish(ExpiryEvent.Status.EXPIRING_SOON, expiring);
+    }
+
+    // How the last check reported a date; null before the first check and for dates it has not reached
+    private ExpiryEvent.Status checkedStatus(LocalDate expiryDate) {
+        if (lastChecked == null || expiryDate.isAfter(lastChecked.plusDays(warnDays))) {
+            return null;
+        }
+        return expiryDate.isBefore(lastChecked) ? ExpiryEvent.Status.EXPIRED : ExpiryEvent.Status.EXPIRING_SOON;
+    }
+
+    private void publish(ExpiryEvent.Status status, List<ExpiryDTO> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (status == ExpiryEvent.Status.EXPIRED) {
+            log.warn("{} chemical(s)/item(s) expired", entries.size());
+        } else {
+            log.info("{} chemical(s)/item(s) expire within {} days", entries.size(), warnDays);
+        }
+        eventPublisher.publishEvent(new ExpiryEvent(status, entries));
+    }
+
+    private void put(Kind kind, ExpiryRow row) {
+        if (row.getExpiryDate() != null) {
+            add(new Entry(new Key(kind, row.getId()), row.getName(), row.getExpiryDate()));
+        }
+    }
+
+    private void add(Entry entry) {
+        byKey.put(entry.key(), entry);
+        byDate.computeIfAbsent(entry.expiryDate(), d -> new LinkedHashMap<>()).put(entry.key(), entry);
+    }
+
+    private Entry remove(Key key) {
+        Entry old = byKey.remove(key);
+        if (old == null) {
+            return null;
+        }
+        Map<Key, Entry> bucket = byDate.get(old.expiryDate());
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            byDate.remove(old.expiryDate());
+        }
+        return old;
+    }
+
+    // kind == null keeps both kinds
+    private static List<ExpiryDTO> toDtos(Collection<Map<Key, Entry>> buckets, Kind kind, LocalDate today) {
+        List<ExpiryDTO> result = new ArrayList<>();
+        for (Map<Key, Entry> bucket : buckets) {
+            for (Entry entry : bucket.values()) {
+                if (kind == null || entry.key().kind() == kind) {
+                    result.add(toDto(entry, today));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static ExpiryDTO toDto(Entry entry, LocalDate today) {
+        return new ExpiryDTO(entry.key().kind(), entry.key().id(), entry.name(), entry.expiryDate(),
+                ChronoUnit.DAYS.between(today, entry.expiryDate()));
+    }
+
+    private record Key(Kind kind, String id) {}
+
+    private record Entry(Key key, String name, LocalDate expiryDate) {}
+}
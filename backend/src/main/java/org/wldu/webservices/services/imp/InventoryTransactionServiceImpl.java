@@ -1,37 +1,204 @@
 package org.wldu.webservices.services.imp;
 
+import dto.BatchRowResultDTO;
+import dto.TransactionDTO;
+import dto.TransactionSummaryDTO;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import org.wldu.webservices.enities.*;
+import org.wldu.webservices.events.InventoryChangedEvent;
+import org.wldu.webservices.pagination.CursorPage;
+import org.wldu.webservices.pagination.KeysetCursor;
 import org.wldu.webservices.repositories.*;
 import org.wldu.webservices.services.contracts.InventoryTransactionService;
+import org.wldu.webservices.services.contracts.StockLedgerService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryTransactionServiceImpl implements InventoryTransactionService {
 
+    // date_trunc units accepted by /api/transactions/summary
+    private static final Set<String> SUMMARY_UNITS = Set.of("day", "week", "month");
+
     private final InventoryTransactionRepository transactionRepository;
     private final EquipmentRepository equipmentRepository;
     private final ChemicalRepository chemicalRepository;
     private final SupplierRepository supplierRepository;
+    private final StockLedgerService stockLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public InventoryTransactionServiceImpl(
             InventoryTransactionRepository transactionRepository,
             EquipmentRepository equipmentRepository,
             ChemicalRepository chemicalRepository,
-            SupplierRepository supplierRepository
+            SupplierRepository supplierRepository,
+            StockLedgerService stockLedgerService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.transactionRepository = transactionRepository;
         this.equipmentRepository = equipmentRepository;
         this.chemicalRepository = chemicalRepository;
         this.supplierRepository = supplierRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public InventoryTransaction saveTransaction(InventoryTransaction transaction) {
+        resolveReferences(transaction);
+        defaultUnit(transaction);
+        InventoryTransaction saved = transactionRepository.save(transaction);
+        stockLedgerService.post(saved);
+        publish(InventoryChangedEvent.Action.CREATED, saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public InventoryTransaction updateTransaction(Long id, InventoryTransaction changes) {
+        InventoryTransaction existing = transactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+
+        // Take the old movement off the balance before applying the new one
+        stockLedgerService.reverse(existing);
+
+        resolveReferences(changes);
+        existing.setEquipment(changes.getEquipment());
+        existing.setChemical(changes.getChemical());
+        existing.setSupplier(changes.getSupplier());
+        existing.setQuantity(changes.getQuantity());
+        existing.setUnit(changes.getUnit());
+        defaultUnit(existing);
+        existing.setTransactionType(changes.getTransactionType());
+        existing.setTransactionDate(changes.getTransactionDate());
+        existing.setNotes(changes.getNotes());
+
+        InventoryTransaction saved = transactionRepository.save(existing);
+        stockLedgerService.post(saved);
+        publish(InventoryChangedEvent.Action.UPDATED, saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchRowResultDTO> saveTransactions(List<InventoryTransaction> transactions) {
+        // One IN (...) lookup per referenced type instead of three findById calls per row
+        Map<Long, Equipment> equipment = equipmentRepository
+                .findAllById(referencedIds(transactions, InventoryTransaction::getEquipment, Equipment::getId))
+                .stream().collect(Collectors.toMap(Equipment::getId, Function.identity()));
+        Map<Long, Chemical> chemicals = chemicalRepository
+                .findAllById(referencedIds(transactions, InventoryTransaction::getChemical, Chemical::getId))
+                .stream().collect(Collectors.toMap(Chemical::getId, Function.identity()));
+        Map<Long, Supplier> suppliers = supplierRepository
+                .findAllById(referencedIds(transactions, InventoryTransaction::getSupplier, Supplier::getId))
+                .stream().collect(Collectors.toMap(Supplier::getId, Function.identity()));
+
+        List<InventoryTransaction> valid = new ArrayList<>();
+        List<BatchRowResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            InventoryTransaction tx = transactions.get(i);
+            String error = bindReferences(tx, equipment, chemicals, suppliers);
+            if (error != null) {
+                results.add(BatchRowResultDTO.failed(i, error));
+            } else {
+                valid.add(tx);
+                results.add(null);
+            }
+        }
+
+        // Ids come from the pooled sequence at persist time; inserts are flushed in batches
+        transactionRepository.saveAll(valid);
+        stockLedgerService.postAll(valid);
+        // One event for the batch: listeners (stats invalidation, dashboard push) run once, not once per row
+        if (!valid.isEmpty()) {
+            eventPublisher.publishEvent(new InventoryChangedEvent(InventoryChangedEvent.EntityType.TRANSACTION,
+                    InventoryChangedEvent.Action.BATCH_CREATED, null,
+                    valid.stream().map(TransactionDTO::from).toList()));
+        }
+
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, BatchRowResultDTO.created(i, valid.get(next++).getId()));
+            }
+        }
+        return results;
+    }
+
+    private static <T> Set<Long> referencedIds(List<InventoryTransaction> transactions,
+                                               Function<InventoryTransaction, T> reference,
+                                               Function<T, Long> idOf) {
+        return transactions.stream()
+                .map(reference)
+                .filter(Objects::nonNull)
+                .map(idOf)
+                .collect(Collectors.toSet());
+    }
+
+    private static String bindReferences(InventoryTransaction tx,
+                                         Map<Long, Equipment> equipment,
+                                         Map<Long, Chemical> chemicals,
+                                         Map<Long, Supplier> suppliers) {
+        // NOT NULL columns: a gap here must fail the row, not the whole batch at flush
+        if (tx.getEquipment() == null) {
+            return "equipmentId is required";
+        }
+        if (tx.getChemical() == null) {
+            return "chemicalId is required";
+        }
+        if (tx.getSupplier() == null) {
+            return "supplierId is required";
+        }
+        if (tx.getTransactionType() == null) {
+            return "transactionType is required";
+        }
+        if (tx.getTransactionDate() == null) {
+            return "transactionDate is required";
+        }
+        Equipment foundEquipment = equipment.get(tx.getEquipment().getId());
+        if (foundEquipment == null) {
+            return "Equipment not found with id: " + tx.getEquipment().getId();
+        }
+        Chemical foundChemical = chemicals.get(tx.getChemical().getId());
+        if (foundChemical == null) {
+            return "Chemical not found with id: " + tx.getChemical().getId();
+        }
+        Supplier foundSupplier = suppliers.get(tx.getSupplier().getId());
+        if (foundSupplier == null) {
+            return "Supplier not found with id: " + tx.getSupplier().getId();
+        }
+        tx.setEquipment(foundEquipment);
+        tx.setChemical(foundChemical);
+        tx.setSupplier(foundSupplier);
+        defaultUnit(tx);
+        return null;
+    }
+
+    // A quantity sent without a unit is in the chemical's unit; recorded so later unit changes keep it exact
+    private static void defaultUnit(InventoryTransaction transaction) {
+        if (transaction.getUnit() == null && transaction.getChemical() != null) {
+            transaction.setUnit(transaction.getChemical().getUnit());
+        }
+    }
+
+    private void resolveReferences(InventoryTransaction transaction) {
 
         // Validate and load Equipment
         Optional.ofNullable(transaction.getEquipment())
@@ -56,8 +223,6 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                         supplierRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + id))
                 ));
-
-        return transactionRepository.save(transaction);
     }
 
     @Override
@@ -65,25 +230,45 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         return transactionRepository.findAll();
     }
 
+    @Override
+    public CursorPage<TransactionDTO> getTransactionPage(String after, int limit) {
+        return CursorPage.fetch(transactionRepository, after, limit, LocalDate::parse,
+                t -> new KeysetCursor(t.getTransactionDate().toString(), t.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTransactions(Consumer<TransactionDTO> consumer) {
+        // Rows are DTOs, not entities, so nothing accumulates in the persistence context
+        try (Stream<TransactionDTO> rows = transactionRepository.streamAllViews()) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Override
     public Optional<InventoryTransaction> getTransactionById(Long id) {
         return transactionRepository.findById(id);
     }
 
     @Override
-    public List<InventoryTransaction> getTransactionsByEquipment(Long equipmentId) {
-        return transactionRepository.findByEquipment_Id(equipmentId);
+    public List<TransactionDTO> getTransactionsByEquipment(Long equipmentId) {
+        return transactionRepository.findViewsByEquipmentId(equipmentId);
     }
 
     @Override
-    public List<InventoryTransaction> getTransactionsByChemical(Long chemicalId) {
-        return transactionRepository.findByChemical_Id(chemicalId);
+    public List<TransactionDTO> getTransactionsByChemical(Long chemicalId) {
+        return transactionRepository.findViewsByChemicalId(chemicalId);
     }
 
     @Override
-    public List<InventoryTransaction> getTransactionsByType(String transactionTypeStr) {
+    public List<TransactionDTO> getTransactionsByType(String transactionTypeStr) {
         TransactionType type = TransactionType.valueOf(transactionTypeStr.toUpperCase());
-        return transactionRepository.findByTransactionType(type);
+        return transactionRepository.findViewsByTransactionType(type);
+    }
+
+    @Override
+    public List<TransactionDTO> getRecentTransactions(int limit) {
+        return transactionRepository.findRecentViews(PageRequest.of(0, limit));
     }
 
     @Override
@@ -94,7 +279,52 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
     }
 
     @Override
+    public List<TransactionSummaryDTO> summarizeTransactions(LocalDate from, LocalDate to,
+                                                             String groupBy, String by, String type) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        String unit = groupBy.toLowerCase();
+        if (!SUMMARY_UNITS.contains(unit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy must be day, week or month");
+        }
+        String typeFilter = null;
+        if (type != null && !type.isEmpty()) {
+            try {
+                typeFilter = TransactionType.valueOf(type.toUpperCase()).name();
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown transaction type");
+            }
+        }
+
+        List<TransactionSummaryRow> rows = switch (by.toLowerCase()) {
+            case "chemical" -> transactionRepository.summarizeByChemical(unit, from, to, typeFilter);
+            case "equipment" -> transactionRepository.summarizeByEquipment(unit, from, to, typeFilter);
+            case "type" -> transactionRepository.summarizeByType(unit, from, to, typeFilter);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "by must be chemical, equipment or type");
+        };
+
+        List<TransactionSummaryDTO> summary = new ArrayList<>(rows.size());
+        for (TransactionSummaryRow row : rows) {
+            summary.add(new TransactionSummaryDTO(row.getPeriod(), row.getKey(), row.getQuantity(), row.getCount()));
+        }
+        return summary;
+    }
+
+    @Override
+    @Transactional
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresent(existing -> {
+            stockLedgerService.reverse(existing);
+            transactionRepository.delete(existing);
+            eventPublisher.publishEvent(new InventoryChangedEvent(
+                    InventoryChangedEvent.EntityType.TRANSACTION, InventoryChangedEvent.Action.DELETED, id));
+        });
+    }
+
+    private void publish(InventoryChangedEvent.Action action, InventoryTransaction tx) {
+        eventPublisher.publishEvent(new InventoryChangedEvent(
+                InventoryChangedEvent.EntityType.TRANSACTION, action, tx.getId(), TransactionDTO.from(tx)));
     }
 }
@@ -13,11 +13,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.config.OptimisticRetry;
 import org.wldu.webservices.enities.CategoriesEntity;
 import org.wldu.webservices.enities.ItemsEntity;
 import org.wldu.webservices.repositories.CategoriesRepository;
 import org.wldu.webservices.repositories.ItemsRepository;
+import org.wldu.webservices.services.contracts.ExpiryService;
 import org.wldu.webservices.services.contracts.ItemService;
 
 
@@ -26,9 +29,14 @@ public class ItemServiceImpl implements ItemService {
    private final CategoriesRepository categoriesRepository;
 
     private final ItemsRepository itemsRepository;
-    public ItemServiceImpl(CategoriesRepository categoriesRepository, ItemsRepository itemsRepository) {
+    private final ExpiryService expiryService;
+    private final OptimisticRetry optimisticRetry;
+    public ItemServiceImpl(CategoriesRepository categoriesRepository, ItemsRepository itemsRepository,
+                           ExpiryService expiryService, OptimisticRetry optimisticRetry) {
         this.categoriesRepository = categoriesRepository;
          this.itemsRepository = itemsRepository;
+        this.expiryService = expiryService;
+        this.optimisticRetry = optimisticRetry;
     }
 
     @Override
@@ -49,7 +57,7 @@ public class ItemServiceImpl implements ItemService {
         item.setRemainingQuantity(request.getQuantityInStock());
         item.setReorder_level(request.getReorder_level());
 
-        return itemsRepository.save(item);
+        return track(itemsRepository.save(item));
     }
 
     @Override
@@ -64,11 +72,19 @@ public class ItemServiceImpl implements ItemService {
     }
 
 
+    // Retried on a lost race; a stale version sent by the client is a conflict and is not
     @Override
     public ItemsEntity updateItems(UUID id, ItemDTO request) {
+        return optimisticRetry.run(() -> applyUpdate(id, request));
+    }
+
+    private ItemsEntity applyUpdate(UUID id, ItemDTO request) {
 
         ItemsEntity existing = itemsRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Medicine not found"));
+        if (request.getVersion() != null && !request.getVersion().equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Item was changed since it was read");
+        }
 
 
         CategoriesEntity category = categoriesRepository.findById(request.getCategoryId())
@@ -84,14 +100,36 @@ public class ItemServiceImpl implements ItemService {
         existing.setPurchasePrice(request.getPurchasePrice());
         existing.setQuantityInStock(request.getQuantityInStock());
 
-        return itemsRepository.save(existing);
+        return track(itemsRepository.save(existing));
     }
 
 
 
+    @Override
+    @Transactional
+    public ItemsEntity adjustStock(UUID id, int delta) {
+        if (delta == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "delta must not be 0");
+        }
+        if (itemsRepository.applyStockDelta(id, delta) == 0) {
+            if (!itemsRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Medicine not found");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock");
+        }
+        return itemsRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Medicine not found"));
+    }
+
     @Override
     public void deleteItems(UUID id) {
         itemsRepository.deleteById(id);
+        expiryService.untrack(ExpiryService.Kind.ITEM, id.toString());
+    }
+
+    private ItemsEntity track(ItemsEntity item) {
+        expiryService.track(ExpiryService.Kind.ITEM, item.getId().toString(), item.getName(), item.getExpiryDate());
+        return item;
     }
 
     @Override
@@ -103,8 +141,8 @@ public class ItemServiceImpl implements ItemService {
             return itemsRepository.findAll((root, query, criteriaBuilder) ->
                     criteriaBuilder.or(
                             criteriaBuilder.like(root.get("name"), "%" + search + "%"),
-                            criteriaBuilder.like(root.get("genericName"), "%" + search + "%"),
-                            criteriaBuilder.like(root.get("supplier"), "%" + search + "%")
+                            criteriaBuilder.like(root.get("salesCode"), "%" + search + "%"),
+                            criteriaBuilder.like(root.get("description"), "%" + search + "%")
 
                     ), pageable);
         } else {
@@ -123,7 +161,7 @@ public class ItemServiceImpl implements ItemService {
             if (search != null && !search.isEmpty()) {
                 Predicate searchPredicate = criteriaBuilder.or(
                         criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + search.toLowerCase() + "%"),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("category")), "%" + search.toLowerCase() + "%")
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("salesCode")), "%" + search.toLowerCase() + "%")
 
                 );
                 return criteriaBuilder.and(reorderPredicate, searchPredicate);
@@ -0,0 +1,117 @@
+package org.wldu.webservices.services.imp;
+
+import com.wldu.xsdgenerated.AddressType;
+import com.wldu.xsdgenerated.Person;
+import com.wldu.xsdgenerated.PersonKeyType;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.enities.PersonEntity;
+import org.wldu.webservices.repositories.PersonRepository;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class PersonService {
+
+    private final PersonRepository personRepository;
+    private final EntityManager entityManager;
+
+    @Value("${soap.persons.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${soap.persons.max-page-size:2000}")
+    private int maxPageSize;
+
+    public PersonService(PersonRepository personRepository, EntityManager entityManager) {
+        this.personRepository = personRepository;
+        this.entityManager = entityManager;
+    }
+
+    // Create and update share upsert semantics, as the SOAP contract always had
+    @Transactional
+    public Person save(Person person) {
+        AddressType address = person.getAddress();
+        personRepository.upsert(
+                person.getFirstName(),
+                person.getLastName(),
+                person.getAge() == null ? null : person.getAge().intValueExact(),
+                person.getSex(),
+                address == null ? null : address.getStreet(),
+                address == null ? null : address.getCity(),
+                address == null ? null : address.getZipCode());
+        return person;
+    }
+
+    @Transactional(readOnly = true)
+    public Person find(String firstName, String lastName) {
+        return personRepository.findByFirstNameAndLastName(firstName, lastName)
+                .map(PersonService::toPerson)
+                .orElse(null);
+    }
+
+    @Transactional
+    public boolean delete(String firstName, String lastName) {
+        return personRepository.deleteByName(firstName, lastName) > 0;
+    }
+
+    /**
+     * Hands persons over one by one from a DB cursor in (lastName, firstName) order,
+     * starting after the given key. Without a page size every remaining person is
+     * sent; a requested size is capped at soap.persons.max-page-size. The key to
+     * resume from is returned when more remain, otherwise null.
+     */
+    @Transactional(readOnly = true)
+    public PersonKeyType forEachPerson(PersonKeyType after, Integer pageSize, Consumer<Person> consumer) {
+        int limit = pageSize == null || pageSize <= 0 ? Integer.MAX_VALUE : Math.min(pageSize, maxPageSize);
+        try (Stream<PersonEntity> persons = after == null
+                ? personRepository.streamAll()
+                : personRepository.streamAfter(after.getLastName(), after.getFirstName())) {
+            Iterator<PersonEntity> it = persons.iterator();
+            PersonEntity last = null;
+            int sent = 0;
+            while (it.hasNext()) {
+                if (sent == limit) {
+                    return keyOf(last);
+                }
+                PersonEntity entity = it.next();
+                consumer.accept(toPerson(entity));
+                entityManager.detach(entity);
+                last = entity;
+                sent++;
+            }
+            return null;
+        }
+    }
+
+    // Page size for a response held in memory until it is sent, e.g. a SAAJ DOM on /ws
+    public int bufferedPageSize(Integer requested) {
+        return requested == null || requested <= 0 ? defaultPageSize : Math.min(requested, maxPageSize);
+    }
+
+    private static PersonKeyType keyOf(PersonEntity entity) {
+        PersonKeyType key = new PersonKeyType();
+        key.setLastName(entity.getLastName());
+        key.setFirstName(entity.getFirstName());
+        return key;
+    }
+
+    private static Person toPerson(PersonEntity entity) {
+        AddressType address = new AddressType();
+        address.setStreet(entity.getStreet());
+        address.setCity(entity.getCity());
+        address.setZipCode(entity.getZipCode());
+
+        Person person = new Person();
+        person.setFirstName(entity.getFirstName());
+        person.setLastName(entity.getLastName());
+        person.setAge(entity.getAge() == null ? null : BigInteger.valueOf(entity.getAge()));
+        person.setSex(entity.getSex());
+        person.setAddress(address);
+        return person;
+    }
+}
@@ -0,0 +1,47 @@
+package org.wldu.webservices.services.imp;
+
+import dto.SearchResultDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.repositories.SearchRepository;
+import org.wldu.webservices.services.contracts.SearchService;
+
+import java.util.List;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 100;
+    // Shorter terms have no trigram to look up, so only name prefixes are searched
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    private final SearchRepository searchRepository;
+
+    public SearchServiceImpl(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    @Override
+    public List<SearchResultDTO> search(String query, int limit) {
+        String term = query == null ? "" : query.strip();
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        if (term.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query too long");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        String literal = escapeLike(term);
+        String contains = term.length() < MIN_SUBSTRING_LENGTH ? null : "%" + literal + "%";
+        return searchRepository.search(term, literal + "%", contains, limit);
+    }
+
+    // The user's % and _ are matched literally (backslash is PostgreSQL's default LIKE escape)
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
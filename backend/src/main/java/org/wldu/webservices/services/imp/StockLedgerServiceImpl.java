@@ -0,0 +1,124 @@
+package org.wldu.webservices.services.imp;
+
+import dto.StockDriftDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.enities.InventoryTransaction;
+import org.wldu.webservices.enities.Unit;
+import org.wldu.webservices.repositories.ChemicalBalanceRow;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.ChemicalStockTotal;
+import org.wldu.webservices.repositories.InventoryTransactionRepository;
+import org.wldu.webservices.services.contracts.StockLedgerService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final ChemicalRepository chemicalRepository;
+    private final InventoryTransactionRepository transactionRepository;
+
+    public StockLedgerServiceImpl(ChemicalRepository chemicalRepository,
+                                  InventoryTransactionRepository transactionRepository) {
+        this.chemicalRepository = chemicalRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(InventoryTransaction transaction) {
+        apply(transaction, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void postAll(Collection<InventoryTransaction> transactions) {
+        Map<Long, Double> deltas = new HashMap<>();
+        Map<Long, Unit> units = new HashMap<>();
+        for (InventoryTransaction transaction : transactions) {
+            Chemical chemical = transaction.getChemical();
+            if (chemical != null) {
+                deltas.merge(chemical.getId(), delta(transaction, 1), Double::sum);
+                units.put(chemical.getId(), chemical.getUnit());
+            }
+        }
+        deltas.forEach((chemicalId, delta) -> applyDelta(chemicalId, units.get(chemicalId), delta));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(InventoryTransaction transaction) {
+        apply(transaction, -1);
+    }
+
+    private void apply(InventoryTransaction transaction, int direction) {
+        Chemical chemical = transaction.getChemical();
+        if (chemical == null) {
+            return;
+        }
+        applyDelta(chemical.getId(), chemical.getUnit(), delta(transaction, direction));
+    }
+
+    // Signed change in the chemical's own unit; a transaction without a unit is already in it
+    private static double delta(InventoryTransaction transaction, int direction) {
+        double signed = direction * transaction.getTransactionType().signedDelta(transaction.getQuantity());
+        Unit chemicalUnit = transaction.getChemical().getUnit();
+        Unit entered = transaction.getUnit();
+        return entered == null || chemicalUnit == null ? signed : entered.convert(signed, chemicalUnit);
+    }
+
+    private void applyDelta(long chemicalId, Unit unit, double delta) {
+        if (chemicalRepository.applyStockDelta(chemicalId, unit, delta) == 0) {
+            if (chemicalRepository.existsById(chemicalId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Chemical " + chemicalId + " changed unit while posting, retry");
+            }
+            throw new RuntimeException("Chemical not found with id: " + chemicalId);
+        }
+    }
+
+    /**
+     * Checks the quantity the app serves, not a shadow of it: on-hand stock must
+     * equal the opening balance plus every ledger entry. Everything is compared in
+     * ml, so entries in another unit and later unit changes add up correctly.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockDriftDTO> reconcile() {
+        List<ChemicalBalanceRow> balances = chemicalRepository.findBalances();
+        Map<Long, Unit> chemicalUnits = new HashMap<>();
+        for (ChemicalBalanceRow balance : balances) {
+            chemicalUnits.put(balance.getId(), balance.getUnit());
+        }
+
+        Map<Long, Double> ledger = new HashMap<>();
+        for (ChemicalStockTotal total : transactionRepository.sumLedgerByChemical()) {
+            Unit unit = total.getUnit() != null ? total.getUnit() : chemicalUnits.get(total.getChemicalId());
+            double base = unit == null ? total.getQuantity() : unit.toBase(total.getQuantity());
+            ledger.merge(total.getChemicalId(), base, Double::sum);
+        }
+
+        List<StockDriftDTO> drift = new ArrayList<>();
+        for (ChemicalBalanceRow balance : balances) {
+            double onHand = balance.getUnit() == null
+                    ? balance.getQuantity() : balance.getUnit().toBase(balance.getQuantity());
+            double opening = balance.getOpeningQuantity() == null ? 0 : balance.getOpeningQuantity();
+            double expected = opening + ledger.getOrDefault(balance.getId(), 0.0);
+            if (Math.abs(expected - onHand) > TOLERANCE) {
+                drift.add(new StockDriftDTO(balance.getId(), onHand, expected));
+            }
+        }
+        return drift;
+    }
+}
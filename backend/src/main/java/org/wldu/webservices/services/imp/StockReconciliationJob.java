@@ -0,0 +1,38 @@
+package org.wldu.webservices.services.imp;
+
+import dto.StockDriftDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.wldu.webservices.services.contracts.StockLedgerService;
+
+import java.util.List;
+
+/**
+ * Periodically checks on-hand chemical quantities against opening balance plus ledger.
+ */
+@Component
+public class StockReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReconciliationJob.class);
+
+    private final StockLedgerService stockLedgerService;
+
+    public StockReconciliationJob(StockLedgerService stockLedgerService) {
+        this.stockLedgerService = stockLedgerService;
+    }
+
+    @Scheduled(cron = "${inventory.stock.reconcile-cron:0 0 2 * * *}")
+    public void reconcile() {
+        List<StockDriftDTO> drift = stockLedgerService.reconcile();
+        if (drift.isEmpty()) {
+            log.info("Stock reconciliation: ledger and balances agree");
+            return;
+        }
+        log.warn("Stock reconciliation: {} chemical(s) out of balance", drift.size());
+        for (StockDriftDTO row : drift) {
+            log.warn("  {}", row);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package org.wldu.webservices.services.imp;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.wldu.webservices.enities.Supplier;
+import org.wldu.webservices.events.InventoryChangedEvent;
+import org.wldu.webservices.pagination.CursorPage;
+import org.wldu.webservices.pagination.KeysetCursor;
 import org.wldu.webservices.repositories.SupplierRepository;
+import org.wldu.webservices.services.contracts.AutocompleteService;
 import org.wldu.webservices.services.contracts.SupplierService;
 
 import java.util.List;
@@ -15,9 +20,18 @@ public class SupplierServiceImpl implements SupplierService {
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
     @Override
     public Supplier saveSupplier(Supplier supplier) {
-        return supplierRepository.save(supplier);
+        Supplier saved = supplierRepository.save(supplier);
+        track(saved);
+        publish(InventoryChangedEvent.Action.CREATED, saved.getId(), saved);
+        return saved;
     }
 
     @Override
@@ -25,6 +39,11 @@ public class SupplierServiceImpl implements SupplierService {
         return supplierRepository.findAll();
     }
 
+    @Override
+    public CursorPage<Supplier> getSupplierPage(String after, int limit) {
+        return CursorPage.fetch(supplierRepository, after, limit, s -> new KeysetCursor(s.getName(), s.getId()));
+    }
+
     @Override
     public Optional<Supplier> getSupplierById(Long id) {
         return supplierRepository.findById(id);
@@ -48,6 +67,8 @@ public class SupplierServiceImpl implements SupplierService {
     @Override
     public void deleteSupplier(Long id) {
         supplierRepository.deleteById(id);
+        autocompleteService.untrack(AutocompleteService.Type.SUPPLIER, id);
+        publish(InventoryChangedEvent.Action.DELETED, id, null);
     }
 
     @Override
@@ -61,11 +82,24 @@ public class SupplierServiceImpl implements SupplierService {
         existingSupplier.setPhoneNumber(supplier.getPhoneNumber());
         existingSupplier.setAddress(supplier.getAddress());
 
-        return supplierRepository.save(existingSupplier);
+        Supplier saved = supplierRepository.save(existingSupplier);
+        track(saved);
+        publish(InventoryChangedEvent.Action.UPDATED, id, saved);
+        return saved;
     }
 
     @Override
     public long countActiveSuppliers() {
         return supplierRepository.count();
     }
+
+    private void track(Supplier supplier) {
+        autocompleteService.track(AutocompleteService.Type.SUPPLIER, supplier.getId(),
+                supplier.getName(), supplier.getContactPerson());
+    }
+
+    private void publish(InventoryChangedEvent.Action action, Long id, Object payload) {
+        eventPublisher.publishEvent(
+                new InventoryChangedEvent(InventoryChangedEvent.EntityType.SUPPLIER, action, id, payload));
+    }
 }
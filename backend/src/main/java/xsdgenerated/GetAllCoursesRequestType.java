@@ -3,28 +3,88 @@ package xsdgenerated;
 
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlType;
 
 
 /**
  * <p>Java class for GetAllCoursesRequestType complex type.
- * 
+ *
  * <p>The following schema fragment specifies the expected content contained within this class.
- * 
+ *
  * <pre>
  * &lt;complexType name="GetAllCoursesRequestType"&gt;
  *   &lt;complexContent&gt;
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="after" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
+ *         &lt;element name="pageSize" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *       &lt;/sequence&gt;
  *     &lt;/restriction&gt;
  *   &lt;/complexContent&gt;
  * &lt;/complexType&gt;
  * </pre>
- * 
- * 
+ *
+ *
  */
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "GetAllCoursesRequestType", namespace = "http://example.com/course")
+@XmlType(name = "GetAllCoursesRequestType", namespace = "http://example.com/course", propOrder = {
+    "after",
+    "pageSize"
+})
 public class GetAllCoursesRequestType {
 
+    @XmlElement(namespace = "http://example.com/course")
+    protected String after;
+    @XmlElement(namespace = "http://example.com/course")
+    protected Integer pageSize;
+
+    /**
+     * Gets the value of the after property.
+     *
+     * @return
+     *     possible object is
+     *     {@link String }
+     *
+     */
+    public String getAfter() {
+        return after;
+    }
+
+    /**
+     * Sets the value of the after property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *
+     */
+    public void setAfter(String value) {
+        this.after = value;
+    }
+
+    /**
+     * Gets the value of the pageSize property.
+     *
+     * @return
+     *     possible object is
+     *     {@link Integer }
+     *
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the value of the pageSize property.
+     *
+     * @param value
+     *     allowed object is
+     *     {@link Integer }
+     *
+     */
+    public void setPageSize(Integer value) {
+        this.pageSize = value;
+    }
 
 }
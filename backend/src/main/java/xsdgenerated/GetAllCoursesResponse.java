@@ -21,6 +21,7 @@ import jakarta.xml.bind.annotation.XmlType;
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
  *       &lt;sequence&gt;
  *         &lt;element name="course" type="{http://example.com/course}CourseType" maxOccurs="unbounded" minOccurs="0"/&gt;
+ *         &lt;element name="nextCursor" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/&gt;
  *       &lt;/sequence&gt;
  *     &lt;/restriction&gt;
  *   &lt;/complexContent&gt;
@@ -31,13 +32,16 @@ import jakarta.xml.bind.annotation.XmlType;
  */
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlType(name = "", propOrder = {
-    "course"
+    "course",
+    "nextCursor"
 })
 @XmlRootElement(name = "GetAllCoursesResponse", namespace = "http://example.com/course")
 public class GetAllCoursesResponse {
 
     @XmlElement(namespace = "http://example.com/course")
     protected List<CourseType> course;
+    @XmlElement(namespace = "http://example.com/course")
+    protected String nextCursor;
 
     /**
      * Gets the value of the course property.
@@ -68,4 +72,28 @@ public class GetAllCoursesResponse {
         return this.course;
     }
 
+    /**
+     * Gets the value of the nextCursor property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link String }
+     *     
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the value of the nextCursor property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link String }
+     *     
+     */
+    public void setNextCursor(String value) {
+        this.nextCursor = value;
+    }
+
 }
@@ -0,0 +1,89 @@
+package org.wldu.webservices.auths;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revoking a user's tokens rejects every token issued before, role-embedded
+ * ones by their "ver" claim and legacy subject-only ones as version 0.
+ */
+class JwtAuthFilterTest {
+
+    private static final String USER = "abebe";
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final TokenVersionRegistry tokenVersions = new TokenVersionRegistry(mock(UserRepository.class));
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        when(userDetailsService.loadTokenUser(USER)).thenReturn(
+                User.withUsername(USER).password("").roles("USER").build());
+        filter = new JwtAuthFilter(jwtUtil, userDetailsService, tokenVersions,
+                mock(PublicPathMatcher.class), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void legacyTokenIsAcceptedUntilRevoked() throws Exception {
+        String legacy = jwtUtil.generateToken(USER);
+        assertNotNull(authenticate(legacy));
+
+        tokenVersions.update(USER, 1);
+
+        assertNull(authenticate(legacy));
+    }
+
+    @Test
+    void revokedLegacyTokenIsRejectedWithoutLoadingTheUser() throws Exception {
+        tokenVersions.update(USER, 1);
+
+        assertNull(authenticate(jwtUtil.generateToken(USER)));
+        verify(userDetailsService, never()).loadTokenUser(USER);
+    }
+
+    @Test
+    void versionedTokenIsRejectedOnceSuperseded() throws Exception {
+        String old = jwtUtil.generateToken(USER, List.of("ROLE_USER"), 0);
+        assertNotNull(authenticate(old));
+
+        tokenVersions.update(USER, 1);
+        String current = jwtUtil.generateToken(USER, List.of("ROLE_USER"), 1);
+
+        assertNull(authenticate(old));
+        Authentication authentication = authenticate(current);
+        assertNotNull(authentication);
+        assertEquals(USER, authentication.getName());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
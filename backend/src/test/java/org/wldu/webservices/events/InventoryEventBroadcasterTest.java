@@ -0,0 +1,124 @@
+package org.wldu.webservices.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.wldu.webservices.services.contracts.DashboardService;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client that stops reading must not hold up the others, and must be dropped
+ * once it falls a full queue behind.
+ */
+class InventoryEventBroadcasterTest {
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    private InventoryEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        DashboardService dashboardService = mock(DashboardService.class);
+        when(dashboardService.getStats()).thenReturn(Map.of("lowStock", 0L));
+        broadcaster = new InventoryEventBroadcaster(dashboardService, new ObjectMapper(), 0, QUEUE_CAPACITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void stuckClientDoesNotStallOthersAndIsDropped() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        broadcaster.subscribe(stuck);
+        broadcaster.subscribe(fast);
+
+        // Every change reaches the reading client while the other is stuck in its first send
+        int changes = QUEUE_CAPACITY * 3;
+        for (int i = 0; i < changes; i++) {
+            int before = fast.sent.get();
+            broadcaster.onInventoryChanged(new InventoryChangedEvent(
+                    InventoryChangedEvent.EntityType.EQUIPMENT, InventoryChangedEvent.Action.UPDATED, (long) i));
+            await(() -> fast.sent.get() > before);
+        }
+        await(() -> broadcaster.getSubscriberCount() == 1);
+        assertFalse(stuck.completed);
+
+        // Completed by its own writer once the blocked send returns, not by the broadcast
+        unblock.countDown();
+        await(() -> stuck.completed);
+        assertEquals(1, stuck.sent.get());
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void failedSendRemovesTheSubscriber() throws Exception {
+        RecordingEmitter broken = new RecordingEmitter(null) {
+            @Override
+            public void send(SseEventBuilder builder) throws java.io.IOException {
+                throw new java.io.IOException("Broken pipe");
+            }
+        };
+        broadcaster.subscribe(broken);
+
+        await(() -> broadcaster.getSubscriberCount() == 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 s");
+            }
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    // Counts sends; with a latch the first send blocks like a socket nobody reads
+    private static class RecordingEmitter extends SseEmitter {
+
+        final AtomicInteger sent = new AtomicInteger();
+        private final CountDownLatch unblock;
+        volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch unblock) {
+            super(0L);
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (unblock != null) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
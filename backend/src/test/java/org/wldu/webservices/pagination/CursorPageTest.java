@@ -0,0 +1,93 @@
+package org.wldu.webservices.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * fetch walks a repository page by page: every row exactly once, in order,
+ * and the last page has no next cursor.
+ */
+class CursorPageTest {
+
+    private record Row(String name, long id) {}
+
+    // Stands in for a repository ordered by (name, id)
+    private static final class InMemoryRepository implements KeysetRepository<Row, String> {
+
+        final List<Row> rows = new ArrayList<>();
+        final List<Integer> requestedSizes = new ArrayList<>();
+
+        @Override
+        public List<Row> findFirstPage(Pageable pageable) {
+            requestedSizes.add(pageable.getPageSize());
+            return rows.stream().limit(pageable.getPageSize()).toList();
+        }
+
+        @Override
+        public List<Row> findPageAfter(String key, long id, Pageable pageable) {
+            requestedSizes.add(pageable.getPageSize());
+            return rows.stream()
+                    .filter(r -> r.name().compareTo(key) > 0 || r.name().equals(key) && r.id() > id)
+                    .limit(pageable.getPageSize())
+                    .toList();
+        }
+    }
+
+    @Test
+    void fetchWalksEveryRowOnce() {
+        InMemoryRepository repository = new InMemoryRepository();
+        // Equal names, so the id tie-breaker decides where a page ends
+        LongStream.rangeClosed(1, 7).forEach(id -> repository.rows.add(new Row(id <= 4 ? "Beaker" : "Flask", id)));
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPage<Row> page = CursorPage.fetch(repository, after, 3, r -> new KeysetCursor(r.name(), r.id()));
+            page.getItems().forEach(r -> seen.add(r.id()));
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seen);
+        assertEquals(3, pages);
+        // One row more than the page, to tell whether another page exists
+        assertEquals(List.of(4, 4, 4), repository.requestedSizes);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        InMemoryRepository repository = new InMemoryRepository();
+        repository.rows.add(new Row("Beaker", 1));
+        repository.rows.add(new Row("Flask", 2));
+
+        CursorPage<Row> page = CursorPage.fetch(repository, "", 2, r -> new KeysetCursor(r.name(), r.id()));
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void limitIsClamped() {
+        InMemoryRepository repository = new InMemoryRepository();
+        CursorPage.fetch(repository, null, 0, r -> new KeysetCursor(r.name(), r.id()));
+        CursorPage.fetch(repository, null, 10_000, r -> new KeysetCursor(r.name(), r.id()));
+        assertEquals(List.of(CursorPage.DEFAULT_LIMIT + 1, CursorPage.MAX_LIMIT + 1), repository.requestedSizes);
+    }
+
+    @Test
+    void badCursorIsRejectedBeforeTheQuery() {
+        InMemoryRepository repository = new InMemoryRepository();
+        assertThrows(ResponseStatusException.class,
+                () -> CursorPage.fetch(repository, "%%%", 3, r -> new KeysetCursor(r.name(), r.id())));
+        assertEquals(List.of(), repository.requestedSizes);
+    }
+}
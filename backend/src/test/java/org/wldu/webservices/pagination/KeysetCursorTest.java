@@ -0,0 +1,74 @@
+package org.wldu.webservices.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A cursor decodes to the key and id it was encoded from, and anything a
+ * client could send that is not such a cursor is a 400, never a 500.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsWhatWasEncoded() {
+        assertRoundTrip("Acetone", 42);
+        assertRoundTrip("", 1);
+        assertRoundTrip("Flask: 250 ml", 7);
+        assertRoundTrip("Ethanol 96% / Äthanol", Long.MAX_VALUE);
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String encoded = new KeysetCursor("??>>~~ a/b+c", 3).encode();
+        assertFalse(encoded.matches(".*[+/=?&].*"), encoded);
+    }
+
+    @Test
+    void keyParsesToTheScanKeyType() {
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor("2024-05-01", 9).encode());
+        assertEquals(LocalDate.of(2024, 5, 1), cursor.getKey(LocalDate::parse));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        assertBadRequest(null);
+        assertBadRequest("");
+        assertBadRequest("not base64!");
+        assertBadRequest(raw("no separator"));
+        assertBadRequest(raw("abc:Acetone"));
+        assertBadRequest(raw(":Acetone"));
+    }
+
+    @Test
+    void keyThatDoesNotParseIsBadRequest() {
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor("Acetone", 1).encode());
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> cursor.getKey(LocalDate::parse));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static void assertRoundTrip(String key, long id) {
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(key, id).encode());
+        assertEquals(key, decoded.getKey());
+        assertEquals(id, decoded.getId());
+    }
+
+    private static void assertBadRequest(String cursor) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> KeysetCursor.decode(cursor));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    // Valid base64 around a payload that is not "id:key"
+    private static String raw(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.wldu.webservices.enities.Chemical;
+import org.wldu.webservices.enities.Unit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * chemicals.base_quantity must agree with Unit.toBase for every unit, including
+ * one added after the column was last built, and the low-stock queries must
+ * compare in ml whatever unit a chemical is stored in.
+ */
+@SpringBootTest
+@ActiveProfiles("isolated")
+@Transactional
+class ChemicalBaseQuantityTest {
+
+    @Autowired
+    private ChemicalRepository chemicalRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void baseQuantityMatchesUnitForEveryUnit() {
+        for (Unit unit : Unit.values()) {
+            Chemical chemical = persist("Base " + unit, 2, unit, 0);
+
+            Number baseQuantity = (Number) entityManager
+                    .createNativeQuery("select base_quantity from chemicals where id = :id")
+                    .setParameter("id", chemical.getId())
+                    .getSingleResult();
+            assertEquals(unit.toBase(2), baseQuantity.doubleValue(), 1e-9, unit.name());
+        }
+    }
+
+    @Test
+    void lowStockComparesInMillilitresForEveryUnit() {
+        long before = chemicalRepository.countLowStock();
+        for (Unit unit : Unit.values()) {
+            persist("Low " + unit, 2, unit, unit.toBase(2) + 1);
+            persist("Stocked " + unit, 2, unit, unit.toBase(2));
+        }
+
+        List<String> low = chemicalRepository.findLowStock().stream()
+                .map(Chemical::getName)
+                .filter(name -> name.startsWith("Low ") || name.startsWith("Stocked "))
+                .toList();
+        assertEquals(Unit.values().length, low.size());
+        assertTrue(low.stream().allMatch(name -> name.startsWith("Low ")), low.toString());
+        assertEquals(before + Unit.values().length, chemicalRepository.countLowStock());
+    }
+
+    private Chemical persist(String name, double quantity, Unit unit, double reorderLevel) {
+        Chemical chemical = new Chemical(name, "X", quantity, unit, LocalDate.now().plusYears(1), "Shelf A");
+        chemical.setReorderLevel(reorderLevel);
+        entityManager.persist(chemical);
+        entityManager.flush();
+        return chemical;
+    }
+}
@@ -0,0 +1,117 @@
+package org.wldu.webservices.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.wldu.webservices.enities.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Every list read on the ledger must cost exactly one SQL statement, however many rows come back.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InventoryTransactionRepositoryTest {
+
+    @Autowired
+    private InventoryTransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Equipment equipment;
+    private Chemical chemical;
+    private Supplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        equipment = new Equipment("Burette", "glassware", "SN-" + System.nanoTime(), EquipmentStatus.ACTIVE, 2);
+        chemical = new Chemical("Acetone", "C3H6O", 250, Unit.ML, LocalDate.now().plusYears(1), "Shelf B");
+        supplier = new Supplier("LabCo", "sales@labco.test", "555", "Main St", "Abebe");
+        entityManager.persist(equipment);
+        entityManager.persist(chemical);
+        entityManager.persist(supplier);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new InventoryTransaction(equipment, chemical, supplier, 5,
+                    TransactionType.IN, LocalDate.now().minusDays(i), "seed " + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findViewsByEquipmentIdIsOneStatement() {
+        assertSingleStatement(transactionRepository.findViewsByEquipmentId(equipment.getId()));
+    }
+
+    @Test
+    void findViewsByChemicalIdIsOneStatement() {
+        assertSingleStatement(transactionRepository.findViewsByChemicalId(chemical.getId()));
+    }
+
+    @Test
+    void findViewsByTransactionTypeIsOneStatement() {
+        assertSingleStatement(transactionRepository.findViewsByTransactionType(TransactionType.IN));
+    }
+
+    @Test
+    void findRecentViewsIsOneStatement() {
+        assertSingleStatement(transactionRepository.findRecentViews(PageRequest.of(0, 5)));
+    }
+
+    @Test
+    void findAllIsOneStatement() {
+        List<InventoryTransaction> all = transactionRepository.findAll();
+        // touch the associations the transactions page renders
+        all.forEach(t -> t.getChemical().getName());
+        assertSingleStatement(all);
+    }
+
+    @Test
+    void summarizeByChemicalIsOneStatement() {
+        List<TransactionSummaryRow> rows = transactionRepository.summarizeByChemical(
+                "month", LocalDate.now().minusDays(2), LocalDate.now(), TransactionType.IN.name());
+        assertSingleStatement(rows);
+        String key = String.valueOf(chemical.getId());
+        assertEquals(3, rows.stream().filter(r -> r.getKey().equals(key))
+                .mapToLong(TransactionSummaryRow::getCount).sum());
+        assertEquals(15.0, rows.stream().filter(r -> r.getKey().equals(key))
+                .mapToDouble(TransactionSummaryRow::getQuantity).sum());
+    }
+
+    @Test
+    void summarizeWithoutTypeFilterNetsOutAgainstIn() {
+        entityManager.persist(new InventoryTransaction(entityManager.merge(equipment),
+                entityManager.merge(chemical), entityManager.merge(supplier), 2,
+                TransactionType.OUT, LocalDate.now(), "used"));
+        entityManager.flush();
+
+        List<TransactionSummaryRow> rows = transactionRepository.summarizeByChemical(
+                "month", LocalDate.now().minusDays(2), LocalDate.now(), null);
+        String key = String.valueOf(chemical.getId());
+        assertEquals(4, rows.stream().filter(r -> r.getKey().equals(key))
+                .mapToLong(TransactionSummaryRow::getCount).sum());
+        assertEquals(13.0, rows.stream().filter(r -> r.getKey().equals(key))
+                .mapToDouble(TransactionSummaryRow::getQuantity).sum());
+    }
+
+    private void assertSingleStatement(List<?> rows) {
+        assertFalse(rows.isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,210 @@
+package org.wldu.webservices.services;
+
+import dto.ItemDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.enities.CategoriesEntity;
+import org.wldu.webservices.enities.Equipment;
+import org.wldu.webservices.enities.EquipmentStatus;
+import org.wldu.webservices.enities.ItemsEntity;
+import org.wldu.webservices.repositories.CategoriesRepository;
+import org.wldu.webservices.repositories.EquipmentRepository;
+import org.wldu.webservices.repositories.ItemsRepository;
+import org.wldu.webservices.services.contracts.EquipmentService;
+import org.wldu.webservices.services.contracts.ItemService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many stations hitting the same row at once: no update may be lost and stock
+ * may never go below zero. The threads have to commit, so this runs in the
+ * throwaway schema of the isolated profile rather than against the dev tables.
+ */
+@SpringBootTest(properties = "inventory.retry.max-attempts=100")
+@ActiveProfiles("isolated")
+class StockContentionTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemsRepository itemsRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private CategoriesRepository categoriesRepository;
+
+    private ItemsEntity item;
+    private Equipment equipment;
+    private CategoriesEntity category;
+
+    @BeforeEach
+    void setUp() {
+        item = new ItemsEntity();
+        item.setName("Contention " + System.nanoTime());
+        item.setSalesCode("CT");
+        item.setPrice(BigDecimal.ONE);
+        item.setQuantityInStock(1000);
+        item.setRemainingQuantity(1000);
+        item = itemsRepository.save(item);
+        equipment = equipmentRepository.save(
+                new Equipment("Contention", "test", "CT-" + System.nanoTime(), EquipmentStatus.ACTIVE, 0));
+        category = categoriesRepository.save(new CategoriesEntity("Contention", "test"));
+    }
+
+    @Test
+    void concurrentStockDeltasAllApply() throws Exception {
+        int perThread = 25;
+        runConcurrently(() -> {
+            for (int i = 0; i < perThread; i++) {
+                itemService.adjustStock(item.getId(), -1);
+            }
+        });
+
+        ItemsEntity after = itemsRepository.findById(item.getId()).orElseThrow();
+        assertEquals(1000 - THREADS * perThread, after.getRemainingQuantity());
+        assertEquals(THREADS * perThread, after.getVersion() - item.getVersion());
+    }
+
+    @Test
+    void stockNeverGoesNegative() throws Exception {
+        itemService.adjustStock(item.getId(), -990);
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(() -> {
+            for (int i = 0; i < 2; i++) {
+                try {
+                    itemService.adjustStock(item.getId(), -1);
+                } catch (ResponseStatusException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, itemsRepository.findById(item.getId()).orElseThrow().getRemainingQuantity());
+        assertEquals(THREADS * 2 - 10, rejected.get());
+    }
+
+    @Test
+    void conflictingEquipmentUpdatesAreRetried() throws Exception {
+        int perThread = 5;
+        AtomicInteger next = new AtomicInteger();
+        Set<Integer> sent = ConcurrentHashMap.newKeySet();
+        runConcurrently(() -> {
+            for (int i = 0; i < perThread; i++) {
+                int quantity = next.incrementAndGet();
+                sent.add(quantity);
+                equipmentService.updateEquipment(equipment.getId(), equipmentUpdate(quantity, null));
+            }
+        });
+
+        // Every call landed as its own write; the last one to commit wins
+        Equipment after = equipmentRepository.findById(equipment.getId()).orElseThrow();
+        assertEquals(THREADS * perThread, after.getVersion() - equipment.getVersion());
+        assertTrue(sent.contains(after.getQuantity()));
+    }
+
+    @Test
+    void staleEquipmentVersionIsRejectedNotRetried() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        runConcurrently(() -> {
+            try {
+                equipmentService.updateEquipment(equipment.getId(),
+                        equipmentUpdate(next.incrementAndGet(), equipment.getVersion()));
+            } catch (ResponseStatusException e) {
+                assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                conflicts.incrementAndGet();
+            }
+        });
+
+        // All of them read the same version, so only one edit may go in
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, equipmentRepository.findById(equipment.getId()).orElseThrow().getVersion() - equipment.getVersion());
+    }
+
+    @Test
+    void itemUpdatesDoNotLoseStockMovements() throws Exception {
+        int perThread = 5;
+        AtomicInteger movements = new AtomicInteger();
+        AtomicInteger edits = new AtomicInteger();
+        AtomicInteger thread = new AtomicInteger();
+        runConcurrently(() -> {
+            // Half the stations edit the item record while the other half move stock
+            boolean editor = thread.getAndIncrement() % 2 == 0;
+            for (int i = 0; i < perThread; i++) {
+                if (editor) {
+                    itemService.updateItems(item.getId(), itemUpdate(edits.incrementAndGet()));
+                } else {
+                    itemService.adjustStock(item.getId(), -1);
+                    movements.incrementAndGet();
+                }
+            }
+        });
+
+        ItemsEntity after = itemsRepository.findById(item.getId()).orElseThrow();
+        assertEquals(1000 - movements.get(), after.getRemainingQuantity());
+        assertEquals(movements.get() + edits.get(), after.getVersion() - item.getVersion());
+    }
+
+    private Equipment equipmentUpdate(int quantity, Long version) {
+        Equipment update = new Equipment(equipment.getName(), equipment.getCategory(),
+                equipment.getSerialNumber(), equipment.getStatus(), quantity);
+        update.setVersion(version);
+        return update;
+    }
+
+    private ItemDTO itemUpdate(int edit) {
+        ItemDTO update = new ItemDTO();
+        update.setName(item.getName());
+        update.setSalesCode(item.getSalesCode());
+        update.setPrice(item.getPrice());
+        update.setCategoryId(category.getCatId());
+        update.setQuantityInStock(1000);
+        update.setInvoiceNumber("INV-" + edit);
+        return update;
+    }
+
+    // Starts every thread at once so they actually contend
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+}
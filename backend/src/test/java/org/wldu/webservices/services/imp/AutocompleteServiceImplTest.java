@@ -0,0 +1,125 @@
+package org.wldu.webservices.services.imp;
+
+import dto.AutocompleteDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.EquipmentRepository;
+import org.wldu.webservices.repositories.SupplierRepository;
+import org.wldu.webservices.services.contracts.AutocompleteService.Type;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lookups run against the in-memory term index: names match from the start of
+ * any word, details from their start, each entry at most once, and edits made
+ * through track/untrack are visible to the next lookup.
+ */
+class AutocompleteServiceImplTest {
+
+    private AutocompleteServiceImpl autocomplete;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new AutocompleteServiceImpl(mock(ChemicalRepository.class),
+                mock(EquipmentRepository.class), mock(SupplierRepository.class));
+        autocomplete.track(Type.CHEMICAL, 1L, "Sodium Chloride", "NaCl");
+        autocomplete.track(Type.CHEMICAL, 2L, "Sodium Hydroxide", "NaOH");
+        autocomplete.track(Type.CHEMICAL, 3L, "Potassium Chloride", "KCl");
+    }
+
+    @Test
+    void prefixMatchesNamesCaseInsensitivelyInTermOrder() {
+        assertEquals(List.of(1L, 2L), ids(Type.CHEMICAL, "SOD"));
+        assertEquals(List.of(1L, 2L), ids(Type.CHEMICAL, "  sodium "));
+        assertEquals(List.of(2L), ids(Type.CHEMICAL, "sodium h"));
+        assertEquals(List.of(), ids(Type.CHEMICAL, "sulfur"));
+    }
+
+    @Test
+    void prefixMatchesDetail() {
+        assertEquals(List.of(3L), ids(Type.CHEMICAL, "kc"));
+        assertEquals(List.of(1L, 2L), ids(Type.CHEMICAL, "na"));
+    }
+
+    @Test
+    void laterWordsMatchButNotTheMiddleOfAWord() {
+        assertEquals(List.of(1L, 3L), ids(Type.CHEMICAL, "chlo"));
+        assertEquals(List.of(2L), ids(Type.CHEMICAL, "hydroxide"));
+        assertEquals(List.of(), ids(Type.CHEMICAL, "odium"));
+        assertEquals(List.of(), ids(Type.CHEMICAL, "loride"));
+    }
+
+    @Test
+    void entryMatchingSeveralTermsIsReturnedOnce() {
+        // "sodium sulfate" and "sulfate" both start with "s"
+        autocomplete.track(Type.CHEMICAL, 4L, "Sodium Sulfate", "Na2SO4");
+        assertEquals(List.of(1L, 2L, 4L), ids(Type.CHEMICAL, "s"));
+    }
+
+    @Test
+    void limitCutsOffAfterThatManyDistinctEntries() {
+        // The empty prefix walks every term: chloride (1, 3), hydroxide (2), ...
+        assertEquals(List.of(1L, 3L), ids(Type.CHEMICAL, "", 2));
+        assertEquals(List.of(1L), ids(Type.CHEMICAL, "sodium", 1));
+
+        // "salt" and "salt lick" are two keys for one entry, counted once against the limit
+        autocomplete.track(Type.CHEMICAL, 5L, "Salt Lick", null);
+        assertEquals(List.of(5L, 1L), ids(Type.CHEMICAL, "s", 2));
+        assertEquals(4, ids(Type.CHEMICAL, "", 50).size());
+    }
+
+    @Test
+    void renameReplacesTheOldTerms() {
+        autocomplete.track(Type.CHEMICAL, 1L, "Table Salt", "NaCl");
+
+        assertEquals(List.of(2L), ids(Type.CHEMICAL, "sodium"));
+        assertEquals(List.of(3L), ids(Type.CHEMICAL, "chloride"));
+        assertEquals(List.of(1L), ids(Type.CHEMICAL, "salt"));
+        AutocompleteDTO renamed = autocomplete.complete(Type.CHEMICAL, "table", 10).get(0);
+        assertEquals("Table Salt", renamed.getName());
+        assertEquals("NaCl", renamed.getDetail());
+    }
+
+    @Test
+    void untrackedEntryIsNoLongerFound() {
+        autocomplete.untrack(Type.CHEMICAL, 1L);
+
+        assertEquals(List.of(2L), ids(Type.CHEMICAL, "sodium"));
+        assertEquals(List.of(3L), ids(Type.CHEMICAL, "chloride"));
+        assertEquals(List.of(2L), ids(Type.CHEMICAL, "na"));
+
+        // Untracking an unknown id is a no-op
+        autocomplete.untrack(Type.CHEMICAL, 99L);
+        assertEquals(2, ids(Type.CHEMICAL, "", 50).size());
+    }
+
+    @Test
+    void typesHaveSeparateIndexes() {
+        autocomplete.track(Type.SUPPLIER, 1L, "Sodium Supplies Ltd", "Abebe");
+
+        assertEquals(List.of(1L), ids(Type.SUPPLIER, "sodium"));
+        assertEquals(List.of(), ids(Type.EQUIPMENT, "sodium"));
+        autocomplete.untrack(Type.SUPPLIER, 1L);
+        assertEquals(List.of(1L, 2L), ids(Type.CHEMICAL, "sodium"));
+    }
+
+    @Test
+    void limitOutsideRangeIsRejected() {
+        assertThrows(ResponseStatusException.class, () -> autocomplete.complete(Type.CHEMICAL, "s", 0));
+        assertThrows(ResponseStatusException.class, () -> autocomplete.complete(Type.CHEMICAL, "s", 51));
+    }
+
+    private List<Long> ids(Type type, String prefix) {
+        return ids(type, prefix, 10);
+    }
+
+    private List<Long> ids(Type type, String prefix, int limit) {
+        return autocomplete.complete(type, prefix, limit).stream().map(AutocompleteDTO::getId).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package org.wldu.webservices.services.imp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.DashboardStats;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stats are served from the cache until the TTL runs out or an inventory write
+ * invalidates them, and a load that overlapped the invalidation is not cached.
+ */
+class DashboardServiceImplTest {
+
+    private final ChemicalRepository chemicalRepository = mock(ChemicalRepository.class);
+    // What the database currently counts as total chemicals
+    private final AtomicLong committed = new AtomicLong(1);
+    private DashboardServiceImpl dashboard;
+
+    @BeforeEach
+    void setUp() {
+        when(chemicalRepository.fetchDashboardStats()).thenAnswer(invocation -> stats(committed.get()));
+        dashboard = new DashboardServiceImpl(chemicalRepository, 60_000);
+    }
+
+    @Test
+    void statsAreCachedUntilInvalidated() {
+        assertEquals(1L, total(dashboard.getStats()));
+        committed.set(2);
+        assertEquals(1L, total(dashboard.getStats()));
+        verify(chemicalRepository, times(1)).fetchDashboardStats();
+
+        dashboard.invalidateStats();
+        assertEquals(2L, total(dashboard.getStats()));
+        verify(chemicalRepository, times(2)).fetchDashboardStats();
+    }
+
+    @Test
+    void loadThatStartedBeforeInvalidationIsNotCached() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(chemicalRepository.fetchDashboardStats()).thenAnswer(invocation -> {
+            // Read the old count, then stall until the write has committed and invalidated
+            DashboardStats before = stats(committed.get());
+            reading.countDown();
+            assertTrue(commit.await(5, TimeUnit.SECONDS));
+            return before;
+        }).thenAnswer(invocation -> stats(committed.get()));
+
+        CompletableFuture<Map<String, Long>> slow = CompletableFuture.supplyAsync(dashboard::getStats);
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        committed.set(2);
+        dashboard.invalidateStats();
+        commit.countDown();
+
+        // The slow caller gets what it read, but the next caller does not
+        assertEquals(1L, total(slow.get(5, TimeUnit.SECONDS)));
+        assertEquals(2L, total(dashboard.getStats()));
+        assertEquals(2L, total(dashboard.getStats()));
+        verify(chemicalRepository, times(2)).fetchDashboardStats();
+    }
+
+    @Test
+    void expiredStatsAreReloaded() {
+        dashboard = new DashboardServiceImpl(chemicalRepository, 0);
+        assertEquals(1L, total(dashboard.getStats()));
+        committed.set(2);
+        assertEquals(2L, total(dashboard.getStats()));
+    }
+
+    private static long total(Map<String, Long> stats) {
+        return stats.get("totalChemicals");
+    }
+
+    private static DashboardStats stats(long totalChemicals) {
+        DashboardStats stats = mock(DashboardStats.class);
+        when(stats.getTotalChemicals()).thenReturn(totalChemicals);
+        return stats;
+    }
+}
@@ -0,0 +1,128 @@
+package org.wldu.webservices.services.imp;
+
+import dto.ExpiryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.wldu.webservices.events.ExpiryEvent;
+import org.wldu.webservices.repositories.ChemicalRepository;
+import org.wldu.webservices.repositories.ItemsRepository;
+import org.wldu.webservices.services.contracts.ExpiryService.Kind;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Each expiry is reported once as EXPIRING_SOON and once as EXPIRED, whether the
+ * daily check reaches it or it is saved into a range the check already passed.
+ */
+class ExpiryServiceImplTest {
+
+    private static final int WARN_DAYS = 30;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final List<ExpiryEvent> events = new ArrayList<>();
+    private ExpiryServiceImpl expiry;
+
+    @BeforeEach
+    void setUp() {
+        expiry = new ExpiryServiceImpl(mock(ChemicalRepository.class), mock(ItemsRepository.class),
+                event -> events.add((ExpiryEvent) event), WARN_DAYS);
+    }
+
+    @Test
+    void firstCheckReportsEverythingAlreadyDue() {
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.minusDays(3));
+        expiry.track(Kind.ITEM, "2", "Gloves", TODAY.plusDays(WARN_DAYS));
+        expiry.track(Kind.CHEMICAL, "3", "Ethanol", TODAY.plusDays(WARN_DAYS + 1));
+        assertTrue(events.isEmpty());
+
+        expiry.checkExpiries(TODAY);
+
+        assertReported(ExpiryEvent.Status.EXPIRED, "1");
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "2");
+        assertTrue(events.isEmpty());
+
+        expiry.checkExpiries(TODAY);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void laterChecksReportOnlyWhatTheyNewlyPass() {
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY);
+        expiry.track(Kind.CHEMICAL, "2", "Ethanol", TODAY.plusDays(WARN_DAYS + 2));
+        expiry.checkExpiries(TODAY);
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "1");
+
+        expiry.checkExpiries(TODAY.plusDays(1));
+        assertReported(ExpiryEvent.Status.EXPIRED, "1");
+        assertTrue(events.isEmpty());
+
+        expiry.checkExpiries(TODAY.plusDays(2));
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "2");
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void dateSavedIntoCheckedRangeIsReportedByTrack() {
+        expiry.checkExpiries(TODAY);
+
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.minusDays(1));
+        assertReported(ExpiryEvent.Status.EXPIRED, "1");
+
+        expiry.track(Kind.ITEM, "2", "Gloves", TODAY.plusDays(5));
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "2");
+
+        // Beyond the window: left for the check that reaches it
+        expiry.track(Kind.ITEM, "3", "Masks", TODAY.plusDays(WARN_DAYS + 1));
+        assertTrue(events.isEmpty());
+        expiry.checkExpiries(TODAY.plusDays(1));
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "3");
+    }
+
+    @Test
+    void dateMovedIntoTheWindowAfterTheCheckIsReported() {
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.plusDays(90));
+        expiry.checkExpiries(TODAY);
+        assertTrue(events.isEmpty());
+
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.plusDays(10));
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "1");
+
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.minusDays(1));
+        assertReported(ExpiryEvent.Status.EXPIRED, "1");
+    }
+
+    @Test
+    void resavingWithoutChangingStatusIsNotReportedAgain() {
+        expiry.track(Kind.CHEMICAL, "1", "Acetone", TODAY.plusDays(10));
+        expiry.checkExpiries(TODAY);
+        assertReported(ExpiryEvent.Status.EXPIRING_SOON, "1");
+
+        expiry.track(Kind.CHEMICAL, "1", "Acetone (lab 2)", TODAY.plusDays(10));
+        expiry.track(Kind.CHEMICAL, "1", "Acetone (lab 2)", TODAY.plusDays(12));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void untrackedEntryIsNotReported() {
+        expiry.track(Kind.ITEM, "1", "Gloves", TODAY.minusDays(1));
+        expiry.untrack(Kind.ITEM, "1");
+        expiry.checkExpiries(TODAY);
+
+        assertTrue(events.isEmpty());
+        assertTrue(expiry.getExpired(Kind.ITEM).isEmpty());
+    }
+
+    // Takes the oldest unchecked event and checks it names exactly these ids
+    private void assertReported(ExpiryEvent.Status status, String... ids) {
+        assertTrue(!events.isEmpty(), "no " + status + " event");
+        ExpiryEvent event = events.remove(0);
+        assertEquals(status, event.getStatus());
+        assertEquals(List.of(ids), event.getEntries().stream().map(ExpiryDTO::getId).toList());
+    }
+}
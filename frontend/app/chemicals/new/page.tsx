@@ -56,7 +56,7 @@ export default function NewChemicalPage() {
 
     if (!name.trim()) return alert("Chemical name is required");
     if (!chemicalFormula.trim()) return alert("Chemical formula is required");
-    if (!quantity) return alert("Quantity is required");
+    if (!id && !quantity) return alert("Quantity is required");
     if (!unit.trim()) return alert("Unit is required");
     if (!expiryDate.trim()) return alert("Expiry date is required");
     if (!storageLocation.trim()) return alert("Storage location is required");
@@ -171,8 +171,14 @@ export default function NewChemicalPage() {
                   )
                 }
                 placeholder="e.g. 25"
+                disabled={!!id}
                 className="border-blue-200 focus:border-blue-500 focus:ring-blue-500"
               />
+              {id && (
+                <p className="text-xs text-slate-500">
+                  Stock changes go through transactions; use an ADJUSTMENT to correct it.
+                </p>
+              )}
             </div>
 
             {/* Unit */}
@@ -30,10 +30,11 @@ interface Stat {
   color?: string;
 }
 
+// Related rows come as { id } references (TransactionDTO)
 interface Transaction {
   id: number;
-  chemicalName: string;
-  type: string;
+  chemical: { id: number } | null;
+  transactionType: string;
   quantity: number;
   timestamp: string;
 }
@@ -48,6 +49,43 @@ interface StockItem {
   isExpired?: boolean;
 }
 
+interface DashboardStats {
+  totalChemicals?: number;
+  equipmentItems?: number;
+  lowStockAlerts?: number;
+  activeSuppliers?: number;
+}
+
+function toStatCards(data: DashboardStats): Stat[] {
+  return [
+    {
+      title: "Total Chemicals",
+      value: data.totalChemicals ?? 0,
+      icon: FlaskConical,
+      description: "In stock",
+    },
+    {
+      title: "Equipment Items",
+      value: data.equipmentItems ?? 0,
+      icon: Microscope,
+      description: "Active units",
+    },
+    {
+      title: "Low Stock Alerts",
+      value: data.lowStockAlerts ?? 0,
+      icon: AlertTriangle,
+      description: "Items require reordering",
+      color: "text-destructive",
+    },
+    {
+      title: "Active Suppliers",
+      value: data.activeSuppliers ?? 0,
+      icon: Truck,
+      description: "Registered partners",
+    },
+  ];
+}
+
 export default function Dashboard() {
   const router = useRouter();
   const [isLoading, setIsLoading] = useState(true);
@@ -70,33 +108,7 @@ export default function Dashboard() {
         const statsRes = await axios.get(`${API_BASE}/api/dashboard/stats`, {
           headers: { Authorization: `Bearer ${token}` },
         });
-        setStats([
-          {
-            title: "Total Chemicals",
-            value: statsRes.data.totalChemicals ?? 0,
-            icon: FlaskConical,
-            description: "In stock",
-          },
-          {
-            title: "Equipment Items",
-            value: statsRes.data.equipmentItems ?? 0,
-            icon: Microscope,
-            description: "Active units",
-          },
-          {
-            title: "Low Stock Alerts",
-            value: statsRes.data.lowStockAlerts ?? 0,
-            icon: AlertTriangle,
-            description: "Items require reordering",
-            color: "text-destructive",
-          },
-          {
-            title: "Active Suppliers",
-            value: statsRes.data.activeSuppliers ?? 0,
-            icon: Truck,
-            description: "Registered partners",
-          },
-        ]);
+        setStats(toStatCards(statsRes.data));
 
         // Recent transactions
         const txRes = await axios.get(
@@ -139,6 +151,26 @@ export default function Dashboard() {
     }
 
     fetchDashboardData();
+
+    // Live updates pushed by the server after each committed inventory change
+    const source = new EventSource(`${API_BASE}/api/dashboard/stream`);
+    source.addEventListener("inventory", (event) => {
+      const change = JSON.parse((event as MessageEvent).data);
+      if (change.entityType === "TRANSACTION" && change.action === "CREATED") {
+        setTransactions((prev) => [change.payload, ...prev].slice(0, 5));
+      }
+      if (change.entityType === "TRANSACTION" && change.action === "BATCH_CREATED") {
+        const created = [...change.payload].reverse();
+        setTransactions((prev) => [...created, ...prev].slice(0, 5));
+      }
+    });
+    // Fresh counters, sent once after a burst of changes
+    source.addEventListener("stats", (event) => {
+      const snapshot = JSON.parse((event as MessageEvent).data);
+      if (snapshot.stats) setStats(toStatCards(snapshot.stats));
+    });
+
+    return () => source.close();
   }, [router, API_BASE]);
 
   if (isLoading)
@@ -239,10 +271,10 @@ export default function Dashboard() {
                     </div>
                     <div>
                       <p className="text-sm font-semibold text-slate-800">
-                        {tx.chemicalName}
+                        {tx.chemical ? `Chemical #${tx.chemical.id}` : "-"}
                       </p>
                       <p className="text-xs text-slate-500">
-                        {tx.type} • Qty {tx.quantity}
+                        {tx.transactionType} • Qty {tx.quantity}
                       </p>
                     </div>
                   </div>
@@ -29,6 +29,8 @@ export default function NewTransactionPage() {
   const [chemicalId, setChemicalId] = useState<number | "">("");
   const [supplierId, setSupplierId] = useState<number | "">("");
   const [quantity, setQuantity] = useState<number | "">("");
+  // "" = the chemical's own unit
+  const [unit, setUnit] = useState("");
   const [transactionType, setTransactionType] = useState<TransactionType>("IN");
   const [transactionDate, setTransactionDate] = useState("");
   const [notes, setNotes] = useState("");
@@ -46,6 +48,7 @@ export default function NewTransactionPage() {
         setChemicalId(tx.chemical?.id || "");
         setSupplierId(tx.supplier?.id || "");
         setQuantity(tx.quantity || "");
+        setUnit(tx.unit || "");
         setTransactionType(tx.transactionType);
         setTransactionDate(tx.transactionDate?.slice(0, 10) || "");
         setNotes(tx.notes || "");
@@ -70,6 +73,7 @@ export default function NewTransactionPage() {
       chemicalId: Number(chemicalId),
       supplierId: supplierId ? Number(supplierId) : null,
       quantity: Number(quantity),
+      unit: unit || null,
       transactionType,
       transactionDate,
       notes,
@@ -180,6 +184,20 @@ export default function NewTransactionPage() {
                 />
               </div>
 
+              {/* Unit */}
+              <div className="space-y-2">
+                <Label>Unit</Label>
+                <select
+                  className="w-full border rounded px-3 py-2"
+                  value={unit}
+                  onChange={(e) => setUnit(e.target.value)}
+                >
+                  <option value="">Chemical&apos;s unit</option>
+                  <option value="ML">ML</option>
+                  <option value="L">L</option>
+                </select>
+              </div>
+
               {/* Transaction Type */}
               <div className="space-y-2">
                 <Label>Transaction Type</Label>